@@ -0,0 +1,112 @@
+package jcstombe.util.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH CSV result files (-rf csv) benchmark by benchmark and exits with status 1 if any benchmark got
+ * worse than the threshold percentage. Throughput scores regress when they drop, time scores when they rise.
+ * <pre>
+ *     CompareResults baseline.csv current.csv [thresholdPercent]
+ * </pre>
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class CompareResults {
+
+    private static class Score {
+        private final String mode;
+        private final double value;
+        private final double error;
+        private final String unit;
+
+        Score(String mode, double value, double error, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+
+    private static List<String> fields(String line) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static double number(String s) {
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * @return scores keyed by benchmark name followed by its parameters, e.g. "get size=16 hitRatio=0.5"
+     */
+    static Map<String, Score> read(String path) throws IOException {
+        final List<String> lines = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8);
+        final Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) return scores;
+        final List<String> header = fields(lines.get(0));
+        for (String line : lines.subList(1, lines.size())) {
+            final List<String> row = fields(line);
+            if (row.size() < 7) continue;
+            final StringBuilder key = new StringBuilder(row.get(0));
+            for (int i = 7; i < row.size() && i < header.size(); i++) {
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(row.get(i));
+            }
+            scores.put(key.toString(), new Score(row.get(1), number(row.get(4)), number(row.get(5)), row.get(6)));
+        }
+        return scores;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.csv> <current.csv> [thresholdPercent]");
+            System.exit(2);
+        }
+        final Map<String, Score> baseline = read(args[0]);
+        final Map<String, Score> current = read(args[1]);
+        final double threshold = (args.length > 2) ? Double.parseDouble(args[2]) : 5;
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            final Score now = entry.getValue();
+            final Score before = baseline.get(entry.getKey());
+            if (before == null || before.value == 0) {
+                System.out.printf("%-80s %14.3f %-10s (new)%n", entry.getKey(), now.value, now.unit);
+                continue;
+            }
+            final double change = 100 * (now.value - before.value) / before.value;
+            final double worse = now.mode.equals("thrpt") ? -change : change;
+            final boolean noise = Math.abs(now.value - before.value) <= Math.max(now.error, before.error);
+            final boolean regressed = worse > threshold && !noise;
+            if (regressed) regressions++;
+            System.out.printf("%-80s %14.3f %-10s %+7.1f%%%s%n", entry.getKey(), now.value, now.unit, change,
+                    regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+}
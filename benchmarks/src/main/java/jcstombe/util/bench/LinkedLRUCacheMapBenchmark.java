@@ -0,0 +1,75 @@
+package jcstombe.util.bench;
+
+import jcstombe.util.LinkedLRUCacheMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache get/put throughput at several cache sizes and hit ratios. Keys are drawn from a range sized so that the
+ * requested fraction of lookups hit a full cache.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LinkedLRUCacheMapBenchmark {
+
+    private static final int KEY_COUNT = 1 << 12;
+
+    @Param({"16", "256", "1024"})
+    int size;
+
+    @Param({"0.5", "0.9", "0.99"})
+    double hitRatio;
+
+    private LinkedLRUCacheMap<Integer, Integer> cache;
+    private Integer[] keys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cache = new LinkedLRUCacheMap<>(size);
+        final int keyRange = (int) Math.ceil(size / hitRatio);
+        final Random random = new Random(42);
+        keys = new Integer[KEY_COUNT];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(keyRange);
+        }
+        for (int i = 0; i < size; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    private Integer nextKey() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return keys[next];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return cache.get(nextKey());
+    }
+
+    @Benchmark
+    public Integer put() {
+        final Integer key = nextKey();
+        return cache.put(key, key);
+    }
+
+    @Benchmark
+    public Integer getOrPut() {
+        final Integer key = nextKey();
+        final Integer value = cache.get(key);
+        if (value == null) {
+            cache.put(key, key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,129 @@
+package jcstombe.util.bench;
+
+import jcstombe.util.Log;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a logging call per verbosity and output. Messages are logged at INFO, so they are filtered out below
+ * VERBOSE; "none" measures formatting and queueing with no outputs registered.
+ * <p>
+ * A call only queues its event for the output's writer thread, and an event is dropped when the queue is full, which
+ * is cheaper than queueing it. The queues are flushed after every iteration so no backlog carries into the next, and
+ * the events dropped during an iteration are reported as the "dropped" counter; a throughput with drops is that of
+ * calls outrunning the writer, not of writing.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LogBenchmark {
+
+    @Param({"STANDARD", "VERBOSE"})
+    Log.Verbosity verbosity;
+
+    @Param({"none", "null", "file"})
+    String sink;
+
+    @Param({"false", "true"})
+    boolean multiThread;
+
+    private PrintStream output;
+    private File file;
+    private long claimedDrops;
+
+    /**
+     * Events dropped by the outputs during an iteration, summed over the benchmark threads.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Drops {
+        public long dropped;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            dropped = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void count(LogBenchmark benchmark) {
+            dropped = benchmark.claimDrops();
+        }
+    }
+
+    /**
+     * @return the drops not yet claimed by another thread this iteration, so each drop is counted once
+     */
+    private synchronized long claimDrops() {
+        final long total = Log.getDroppedEventCount();
+        final long drops = total - claimedDrops;
+        claimedDrops = total;
+        return drops;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Log.removeLoggingOutput(System.out);
+        Log.setLoggingLevel(verbosity);
+        Log.setMultiThreadEnabled(multiThread);
+        if (sink.equals("null")) {
+            output = new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                }
+            });
+        } else if (sink.equals("file")) {
+            file = File.createTempFile("LogBenchmark", ".log");
+            output = new PrintStream(file);
+        }
+        Log.addLoggingOutput(output);
+    }
+
+    @Setup(Level.Iteration)
+    public synchronized void startIteration() {
+        claimedDrops = Log.getDroppedEventCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void flushIteration() {
+        Log.flushAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Log.flushAll();
+        if (output != null) {
+            Log.removeLoggingOutput(output);
+            output.close();
+        }
+        if (file != null) {
+            file.delete();
+        }
+        Log.addLoggingOutput(System.out);
+    }
+
+    @Benchmark
+    public void info(Drops drops) {
+        Log.info("Processed request %d in %s", 42, "handler");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void infoContended(Drops drops) {
+        Log.info("Processed request %d in %s", 42, "handler");
+    }
+}
@@ -0,0 +1,81 @@
+package jcstombe.util.bench;
+
+import jcstombe.util.LatencyRecorder;
+import jcstombe.util.LogTimer;
+import jcstombe.util.ResourceTimer;
+import jcstombe.util.SpanProfiler;
+import jcstombe.util.TimerRegistry;
+import jcstombe.util.TimingCategory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of timing an empty section, enabled and disabled, with each of the timing sinks.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LogTimerBenchmark {
+
+    private static final TimingCategory CATEGORY = TimingCategory.get("benchmark");
+    private static final TimerRegistry.Timer TIMER = TimerRegistry.timer("benchmark");
+    private static final LatencyRecorder RECORDER = LatencyRecorder.get("benchmark");
+
+    @Param({"true", "false"})
+    boolean enabled;
+
+    @Setup
+    public void setUp() {
+        if (enabled) {
+            CATEGORY.enable();
+        } else {
+            CATEGORY.disable();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        CATEGORY.enable();
+    }
+
+    @Benchmark
+    public long elapsed() {
+        return new LogTimer(CATEGORY, "elapsed").getNanoseconds();
+    }
+
+    @Benchmark
+    public long timerRegistry() {
+        return new LogTimer(CATEGORY, "registry").stop(TIMER);
+    }
+
+    @Benchmark
+    public long latencyRecorder() {
+        return new LogTimer(CATEGORY, "recorder").stop(RECORDER);
+    }
+
+    @Benchmark
+    public long resourceTimer() {
+        return new ResourceTimer(CATEGORY, "resources").getCpuNanoseconds();
+    }
+
+    @Benchmark
+    public void span() {
+        try (SpanProfiler.Span outer = SpanProfiler.begin("outer")) {
+            try (SpanProfiler.Span inner = SpanProfiler.begin("inner")) {
+                // Empty section
+            }
+        }
+    }
+
+    @Benchmark
+    public String humanTime() {
+        return new LogTimer(CATEGORY, "human").humanTime();
+    }
+}
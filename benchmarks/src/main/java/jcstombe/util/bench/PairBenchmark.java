@@ -0,0 +1,94 @@
+package jcstombe.util.bench;
+
+import jcstombe.util.IntPair;
+import jcstombe.util.IntPairKeyMap;
+import jcstombe.util.Pair;
+import jcstombe.util.PairKeyMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of using a Pair or an IntPair as a map key: building the key, hashing it and comparing it, against the two-key
+ * maps that need no key object at all.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PairBenchmark {
+
+    private static final int KEY_COUNT = 1 << 12;
+
+    @Param({"1024", "65536"})
+    int size;
+
+    private Map<Pair<Integer, Integer>, Integer> map;
+    private Map<IntPair, Integer> intPairMap;
+    private PairKeyMap<Integer, Integer, Integer> pairKeyMap;
+    private IntPairKeyMap<Integer> intPairKeyMap;
+    private int[] firsts, seconds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        final int side = (int) Math.sqrt(size);
+        map = new HashMap<>();
+        intPairMap = new HashMap<>();
+        pairKeyMap = new PairKeyMap<>();
+        intPairKeyMap = new IntPairKeyMap<>();
+        for (int a = 0; a < side; a++) {
+            for (int b = 0; b < side; b++) {
+                map.put(new Pair<>(a, b), a * side + b);
+                intPairMap.put(new IntPair(a, b), a * side + b);
+                pairKeyMap.put(a, b, a * side + b);
+                intPairKeyMap.put(a, b, a * side + b);
+            }
+        }
+        firsts = new int[KEY_COUNT];
+        seconds = new int[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            firsts[i] = random.nextInt(side);
+            seconds[i] = random.nextInt(side);
+        }
+    }
+
+    @Benchmark
+    public Integer lookup() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return map.get(new Pair<>(firsts[next], seconds[next]));
+    }
+
+    @Benchmark
+    public Integer intPairLookup() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return intPairMap.get(new IntPair(firsts[next], seconds[next]));
+    }
+
+    @Benchmark
+    public Integer pairKeyMapLookup() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return pairKeyMap.get(firsts[next], seconds[next]);
+    }
+
+    @Benchmark
+    public Integer intPairKeyMapLookup() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return intPairKeyMap.get(firsts[next], seconds[next]);
+    }
+
+    @Benchmark
+    public int hashCodeOnly() {
+        next = (next + 1) & (KEY_COUNT - 1);
+        return new Pair<>(firsts[next], seconds[next]).hashCode();
+    }
+}
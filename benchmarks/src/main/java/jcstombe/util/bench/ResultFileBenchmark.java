@@ -0,0 +1,153 @@
+package jcstombe.util.bench;
+
+import jcstombe.util.ResultFields;
+import jcstombe.util.ResultFile;
+import jcstombe.util.ResultStatisticFormat;
+import jcstombe.util.StatisticSummary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Read and write throughput of a result file with a fixed number of results. Scores are per file, divide by the
+ * result count for per result figures.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultFileBenchmark {
+
+    static class IntResultFile extends ResultFile<Integer> {
+        IntResultFile(File file) {
+            super(file);
+            addStatistic("time", ResultStatisticFormat.floatingPoint().precision(6));
+            addStatistic("count", ResultStatisticFormat.integer());
+            addStatistic("score", ResultStatisticFormat.floatingPoint());
+        }
+
+        @Override
+        public String printResultId(Integer resultId) {
+            return resultId.toString();
+        }
+
+        @Override
+        public String printResultIdHeader() {
+            return "id";
+        }
+
+        @Override
+        public Integer readResultId(ResultFields in) {
+            return in.nextInt();
+        }
+
+        @Override
+        public boolean validResultIdHeader(ResultFields in) {
+            return in.hasNext() && in.nextEquals("id");
+        }
+    }
+
+    @Param({"1000", "100000"})
+    int results;
+
+    private File file;
+    private File columnFile;
+    private IntResultFile written;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("ResultFileBenchmark", ".tsv");
+        written = new IntResultFile(file);
+        final Random random = new Random(42);
+        for (int i = 0; i < results; i++) {
+            ResultFile<Integer>.Result r = written.new Result(i);
+            r.addStatistic("time", random.nextDouble() * 1000);
+            r.addStatistic("count", random.nextInt(100000));
+            r.addStatistic("score", random.nextGaussian());
+        }
+        written.writeResults();
+        columnFile = File.createTempFile("ResultFileBenchmark", ".cols");
+        written.writeColumns(columnFile);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+        columnFile.delete();
+    }
+
+    @Benchmark
+    public void write() {
+        written.writeResults();
+    }
+
+    @Benchmark
+    public int formatLines() {
+        final StringBuilder line = new StringBuilder(256);
+        return written.stream().mapToInt(r -> {
+            line.setLength(0);
+            r.appendTo(line);
+            return line.length();
+        }).sum();
+    }
+
+    @Benchmark
+    public IntResultFile read() {
+        final IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        return read;
+    }
+
+    @Benchmark
+    public IntResultFile readParallel() {
+        final IntResultFile read = new IntResultFile(file);
+        read.readResultsParallel();
+        return read;
+    }
+
+    @Benchmark
+    public StatisticSummary streamSummarize() throws IOException {
+        final IntResultFile streamed = new IntResultFile(file);
+        try (Stream<ResultFile<Integer>.Result> results = streamed.streamResults()) {
+            return streamed.summarize(results, "time");
+        }
+    }
+
+    @Benchmark
+    public void writeColumns() {
+        written.writeColumns(columnFile);
+    }
+
+    @Benchmark
+    public IntResultFile readColumns() {
+        final IntResultFile read = new IntResultFile(file);
+        read.readColumns(columnFile);
+        return read;
+    }
+
+    @Benchmark
+    public int collectParallel() {
+        final IntResultFile collected = new IntResultFile(file);
+        final int threads = Runtime.getRuntime().availableProcessors();
+        IntStream.range(0, threads).parallel().forEach(t -> {
+            try (ResultFile<Integer>.Collector collector = collected.collector()) {
+                for (int i = t; i < results; i += threads) {
+                    ResultFile<Integer>.Result r = collector.newResult(i);
+                    r.setDouble(0, i * 0.5);
+                    r.setLong(1, i);
+                }
+            }
+        });
+        return collected.size();
+    }
+}
@@ -0,0 +1,35 @@
+package jcstombe.util;
+
+/**
+ * Hash mixing shared by the tuple types and the maps keyed on them.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class Hashing {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private Hashing() {
+    }
+
+    /**
+     * The MurmurHash3 64 bit finalizer; every input bit affects every output bit.
+     */
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static int hash(long value) {
+        return (int) mix64(value);
+    }
+
+    static int hash(long a, long b) {
+        return (int) mix64(a * GOLDEN + b);
+    }
+}
@@ -0,0 +1,40 @@
+package jcstombe.util;
+
+/**
+ * An immutable pair of an int and a long.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class IntLongPair {
+
+    public final int first;
+    public final long second;
+    private final int hash;
+
+    public IntLongPair(int first, long second) {
+        this.first = first;
+        this.second = second;
+        hash = Hashing.hash(first, second);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof IntLongPair) {
+            IntLongPair other = (IntLongPair) obj;
+            return first == other.first && second == other.second;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + first + ", " + second + ")";
+    }
+}
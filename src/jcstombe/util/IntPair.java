@@ -0,0 +1,68 @@
+package jcstombe.util;
+
+/**
+ * An immutable pair of ints. Both ints fit in one long, so the static helpers let hot code pass and store pairs as
+ * packed longs without allocating anything.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class IntPair {
+
+    public static long pack(int first, int second) {
+        return ((long) first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    public static int first(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    public static int second(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * @return the same hash code an IntPair holding the packed ints has
+     */
+    public static int hash(long packed) {
+        return Hashing.hash(packed);
+    }
+
+    public static IntPair unpack(long packed) {
+        return new IntPair(first(packed), second(packed));
+    }
+
+    public final int first;
+    public final int second;
+    private final int hash;
+
+    public IntPair(int first, int second) {
+        this.first = first;
+        this.second = second;
+        hash = hash(pack(first, second));
+    }
+
+    public long pack() {
+        return pack(first, second);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof IntPair) {
+            IntPair other = (IntPair) obj;
+            return first == other.first && second == other.second;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + first + ", " + second + ")";
+    }
+}
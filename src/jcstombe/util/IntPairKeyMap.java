@@ -0,0 +1,174 @@
+package jcstombe.util;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link PairKeyMap} keyed on two ints. Each key is stored packed into a single long (see {@link IntPair#pack}),
+ * so neither the keys nor the lookups box anything. Values may be null.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class IntPairKeyMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int first, int second, V value);
+    }
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    public IntPairKeyMap() {
+        this(PairKeyMap.MIN_CAPACITY);
+    }
+
+    public IntPairKeyMap(int expectedSize) {
+        allocate(PairKeyMap.tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 3 * 2;
+    }
+
+    private int find(long key) {
+        for (int i = IntPair.hash(key) & mask; ; i = (i + 1) & mask) {
+            if (values[i] == null) return ~i;
+            if (keys[i] == key) return i;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        final Object v = values[slot];
+        return (v == PairKeyMap.NULL_VALUE) ? null : (V) v;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int k1, int k2) {
+        return find(IntPair.pack(k1, k2)) >= 0;
+    }
+
+    public V get(int k1, int k2) {
+        final int slot = find(IntPair.pack(k1, k2));
+        return (slot >= 0) ? value(slot) : null;
+    }
+
+    public V getOrDefault(int k1, int k2, V defaultValue) {
+        final int slot = find(IntPair.pack(k1, k2));
+        return (slot >= 0) ? value(slot) : defaultValue;
+    }
+
+    public V put(int k1, int k2, V value) {
+        final long key = IntPair.pack(k1, k2);
+        final int slot = find(key);
+        final Object stored = (value == null) ? PairKeyMap.NULL_VALUE : value;
+        if (slot >= 0) {
+            final V old = value(slot);
+            values[slot] = stored;
+            return old;
+        }
+        keys[~slot] = key;
+        values[~slot] = stored;
+        if (++size > threshold) {
+            grow();
+        }
+        return null;
+    }
+
+    public V remove(int k1, int k2) {
+        final int slot = find(IntPair.pack(k1, k2));
+        if (slot < 0) return null;
+        final V old = value(slot);
+        delete(slot);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(IntPair.first(keys[i]), IntPair.second(keys[i]), value(i));
+            }
+        }
+    }
+
+    /**
+     * @return the entries keyed by an {@link IntPair}; each step of the iteration allocates the view
+     */
+    public Iterable<Map.Entry<IntPair, V>> entries() {
+        return () -> new Iterator<Map.Entry<IntPair, V>>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public Map.Entry<IntPair, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final int slot = next;
+                next = advance(next + 1);
+                return new AbstractMap.SimpleImmutableEntry<>(IntPair.unpack(keys[slot]), value(slot));
+            }
+        };
+    }
+
+    private void delete(int slot) {
+        int gap = slot;
+        for (int j = (slot + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            final int ideal = IntPair.hash(keys[j]) & mask;
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int slot = IntPair.hash(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package jcstombe.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of non-negative values (normally nanoseconds), in the style of HdrHistogram. Values below
+ * 2^(subBucketBits + 1) are counted exactly; above that each power of two is split into 2^subBucketBits equal buckets,
+ * so every value is kept to within a relative error of 2^-subBucketBits. Memory is fixed by the largest trackable value
+ * and larger values are counted in the top bucket. Recording is lock-free and may be done from any number of threads.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LatencyHistogram {
+
+    public static final long DEFAULT_MAX_VALUE = TimeUnit.HOURS.toNanos(1);
+    public static final int DEFAULT_SUB_BUCKET_BITS = 7;
+
+    private final int subBucketBits;
+    private final long maxValue;
+    private final AtomicLongArray counts;
+    private final LongAdder sum;
+
+    public LatencyHistogram() {
+        this(DEFAULT_MAX_VALUE, DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    public LatencyHistogram(long maxValue, int subBucketBits) {
+        if (maxValue < 1) throw new IllegalArgumentException("LatencyHistogram max value must be positive");
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("LatencyHistogram sub bucket bits must be in [1, 16]");
+        }
+        this.subBucketBits = subBucketBits;
+        this.maxValue = maxValue;
+        counts = new AtomicLongArray(bucketIndex(maxValue) + 1);
+        sum = new LongAdder();
+    }
+
+    private int bucketIndex(long value) {
+        final int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - subBucketBits);
+        return (shift << subBucketBits) + (int) (value >>> shift);
+    }
+
+    private long lowestValue(int index) {
+        final int shift = Math.max(0, (index >>> subBucketBits) - 1);
+        return (long) (index - (shift << subBucketBits)) << shift;
+    }
+
+    private long highestValue(int index) {
+        final int shift = Math.max(0, (index >>> subBucketBits) - 1);
+        return Math.min(maxValue, lowestValue(index) + (1L << shift) - 1);
+    }
+
+    public void record(long value) {
+        final long v = Math.min(Math.max(0, value), maxValue);
+        counts.incrementAndGet(bucketIndex(v));
+        sum.add(v);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+    }
+
+    public LatencyHistogram copy() {
+        final LatencyHistogram copy = new LatencyHistogram(maxValue, subBucketBits);
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Merges the counts of another histogram with the same layout into this one.
+     */
+    public void add(LatencyHistogram other) {
+        checkLayout(other);
+        for (int i = 0; i < counts.length(); i++) {
+            final long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        sum.add(other.sum.sum());
+    }
+
+    /**
+     * Removes the counts of an earlier copy of this histogram, leaving only what was recorded since.
+     */
+    public void subtract(LatencyHistogram earlier) {
+        checkLayout(earlier);
+        for (int i = 0; i < counts.length(); i++) {
+            final long c = earlier.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, -c);
+            }
+        }
+        sum.add(-earlier.sum.sum());
+    }
+
+    private void checkLayout(LatencyHistogram other) {
+        if (other.maxValue != maxValue || other.subBucketBits != subBucketBits) {
+            throw new IllegalArgumentException("LatencyHistogram layouts differ");
+        }
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public double getMean() {
+        final long count = getCount();
+        return (count == 0) ? 0 : (double) sum.sum() / count;
+    }
+
+    public long getMin() {
+        for (int i = 0; i < counts.length(); i++) {
+            if (counts.get(i) > 0) return lowestValue(i);
+        }
+        return 0;
+    }
+
+    public long getMax() {
+        for (int i = counts.length() - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) return highestValue(i);
+        }
+        return 0;
+    }
+
+    /**
+     * @param percentile in [0, 100]
+     * @return the highest value equivalent to the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        final long count = getCount();
+        if (count == 0) return 0;
+        final double p = Math.min(Math.max(percentile, 0), 100);
+        final long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return highestValue(i);
+        }
+        return maxValue;
+    }
+}
@@ -0,0 +1,73 @@
+package jcstombe.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A named latency distribution backed by a {@link LatencyHistogram}. Recorders are normally looked up by name with
+ * {@link #get(String)} and fed by {@link LogTimer#stop(TimeRecorder)}. Besides the cumulative distribution, a
+ * recorder can hand out interval snapshots holding only what was recorded since the previous interval snapshot.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LatencyRecorder implements TimeRecorder {
+
+    private static final ConcurrentMap<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    public static LatencyRecorder get(String name) {
+        return recorders.computeIfAbsent(name, LatencyRecorder::new);
+    }
+
+    public static Collection<LatencyRecorder> all() {
+        return Collections.unmodifiableCollection(recorders.values());
+    }
+
+    private final String name;
+    private final LatencyHistogram histogram;
+    private LatencyHistogram lastInterval;
+
+    public LatencyRecorder(String name) {
+        this(name, LatencyHistogram.DEFAULT_MAX_VALUE, LatencyHistogram.DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    public LatencyRecorder(String name, long maxNanos, int subBucketBits) {
+        this.name = name;
+        histogram = new LatencyHistogram(maxNanos, subBucketBits);
+        lastInterval = new LatencyHistogram(maxNanos, subBucketBits);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    public LatencyHistogram snapshot() {
+        return histogram.copy();
+    }
+
+    public synchronized LatencyHistogram intervalSnapshot() {
+        final LatencyHistogram current = histogram.copy();
+        final LatencyHistogram interval = current.copy();
+        interval.subtract(lastInterval);
+        lastInterval = current;
+        return interval;
+    }
+
+    public String report(LatencyHistogram h) {
+        return String.format("%s {count=%d, mean=%.3f ms, p50=%.3f ms, p99=%.3f ms, p99.9=%.3f ms, max=%.3f ms}",
+                name, h.getCount(), h.getMean() / 1e6, h.getValueAtPercentile(50) / 1e6,
+                h.getValueAtPercentile(99) / 1e6, h.getValueAtPercentile(99.9) / 1e6, h.getMax() / 1e6);
+    }
+
+    @Override
+    public String toString() {
+        return report(histogram);
+    }
+}
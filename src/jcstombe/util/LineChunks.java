@@ -0,0 +1,72 @@
+package jcstombe.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a text file into line aligned chunks for parallel parsing, as used by {@link LogIndex} and
+ * {@link ResultFile#readResultsParallel()}. There are about four chunks per processor, each between 1MB and 256MB and
+ * ending just after a newline (or at the end of the file), so no line is split between two chunks.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class LineChunks {
+
+    static final long MIN_CHUNK_SIZE = 1 << 20;
+    static final long MAX_CHUNK_SIZE = 256L << 20;
+
+    private LineChunks() {
+    }
+
+    /**
+     * @return the chunk boundaries of the bytes between start and size: start, then the end of every chunk
+     */
+    static long[] bounds(FileChannel channel, long start, long size) throws IOException {
+        final long target = (size - start) / (4L * Runtime.getRuntime().availableProcessors());
+        final long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+        final List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        long pos = start;
+        while (size - pos > chunkSize) {
+            pos = nextLine(channel, pos + chunkSize, size);
+            bounds.add(pos);
+        }
+        if (pos < size) {
+            bounds.add(size);
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * @return the chunks between the boundaries, memory mapped read only
+     */
+    static MappedByteBuffer[] map(FileChannel channel, long[] bounds) throws IOException {
+        final MappedByteBuffer[] chunks = new MappedByteBuffer[bounds.length - 1];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+        }
+        return chunks;
+    }
+
+    /**
+     * @return the position after the next newline at or after pos, or size if there is none
+     */
+    static long nextLine(FileChannel channel, long pos, long size) throws IOException {
+        final ByteBuffer buf = ByteBuffer.allocate(4096);
+        while (pos < size) {
+            buf.clear();
+            final int n = channel.read(buf, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+}
@@ -4,17 +4,20 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 /**
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 7, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class Log {
 
@@ -31,6 +34,28 @@ public class Log {
     public static final Predicate<String> V_FILTER = s -> S_FILTER.test(s) || startsWith(s, "[INFO]", "[SYSTEM]");
     public static final Predicate<String> VV_FILTER = s -> V_FILTER.test(s) || startsWith(s, "[DETAIL]");
 
+    /**
+     * @return the filter accepting exactly the lines that would be logged at the given verbosity
+     */
+    public static Predicate<String> filter(Verbosity v) {
+        switch (v) {
+            case NOTHING:
+                return s -> false;
+            case VERY_MINIMAL:
+                return QQ_FILTER;
+            case MINIMAL:
+                return Q_FILTER;
+            case STANDARD:
+                return S_FILTER;
+            case VERBOSE:
+                return V_FILTER;
+            case VERY_VERBOSE:
+                return VV_FILTER;
+            default:
+                return s -> true;
+        }
+    }
+
     public enum Verbosity {
         NOTHING, // Nothing
         VERY_MINIMAL, // Log.critical (QQ_FILTER)
@@ -53,14 +78,16 @@ public class Log {
     private static boolean multiThreadEnabled;
     private static DateFormat timeF = new SimpleDateFormat("YYYYMMdd HH:mm:ss.SSS");
     private static Verbosity lvl;
-    private static List<PrintStream> out;
+    private static List<LogSink> out;
 
     // --------- Initialize Log configuration --------------- //
 
     static {
         // Initialize logging (default to printing to System.out)
-        out = new ArrayList<>();
+        out = new CopyOnWriteArrayList<>();
         addLoggingOutput(System.out);
+        // Write out anything still queued when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flushAll, "Log-Shutdown"));
 
         // Configure default logging lvl to STANDARD
         setLoggingLevel(Verbosity.STANDARD);
@@ -71,15 +98,19 @@ public class Log {
     }
 
     // -------- Configuration Methods ----------------------- //
-    public synchronized static void addLoggingOutput(PrintStream o) {
+    public static void addLoggingOutput(PrintStream o) {
+        addLoggingOutput(o, LogSink.DEFAULT_CAPACITY);
+    }
+
+    public synchronized static void addLoggingOutput(PrintStream o, int queueCapacity) {
         if (o == null) return;
-        out.add(o);
+        out.add(new LogSink(o, queueCapacity));
     }
 
     public synchronized static void addLoggingOutputFile(File f) {
         if (f == null) return;
         try {
-            out.add(new PrintStream(new FileOutputStream(f, true)));
+            out.add(new LogSink(new PrintStream(new FileOutputStream(f, true)), LogSink.DEFAULT_CAPACITY));
         } catch (FileNotFoundException e) {
             Log.warn("Logs::addLoggingOutputFile, Unable to add output file %s", f.getName());
         }
@@ -108,15 +139,30 @@ public class Log {
     }
 
     public synchronized static boolean removeLoggingOutput(PrintStream o) {
-        return out.remove(o);
+        for (LogSink sink : out) {
+            if (sink.stream() == o) {
+                out.remove(sink);
+                sink.close();
+                return true;
+            }
+        }
+        return false;
     }
 
-    public synchronized static void flushAll() {
-        for (PrintStream o : out) {
-            o.flush();
+    public static void flushAll() {
+        for (LogSink sink : out) {
+            sink.flush();
         }
     }
 
+    public static long getDroppedEventCount() {
+        long dropped = 0;
+        for (LogSink sink : out) {
+            dropped += sink.droppedEvents();
+        }
+        return dropped;
+    }
+
     // ---------- Public logging methods ------------------------- //
     public static void critical(String format, Object... objects) {
         if (lvl.greaterThan(Verbosity.NOTHING)) {
@@ -158,11 +204,22 @@ public class Log {
         Objects.requireNonNull(e, "Attempted to log a null exception");
         if (lvl.greaterThan(Verbosity.VERY_MINIMAL)) {
             final String time = timeF.format(new Date());
-            final String msg = String.format("[%s] Stack Trace", time);
-            for (final PrintStream o : out) {
-                o.println(msg);
-                e.printStackTrace(o);
-            }
+            final StringWriter trace = new StringWriter();
+            e.printStackTrace(new PrintWriter(trace));
+            final String stack = trace.toString().trim();
+            enqueue(String.format("[%s] Stack Trace%n%s", time, stack));
+        }
+    }
+
+    public static void system(String format, Object... objects) {
+        if (systemLoggingEnabled && lvl.greaterThan(Verbosity.STANDARD)) {
+            Log.output("SYSTEM", String.format(format, objects));
+        }
+    }
+
+    public static void time(String format, Object... objects) {
+        if (LogTimer.isTiming() && lvl.greaterThan(Verbosity.MINIMAL)) {
+            Log.output("TIME", String.format(format, objects));
         }
     }
 
@@ -172,35 +229,66 @@ public class Log {
 
     public static void logTime(LogTimer timer) {
         Objects.requireNonNull(timer, "Attempted to log a null timer");
-        if (LogTimer.isTiming() && lvl.greaterThan(Verbosity.MINIMAL)) {
+        if (timer.isEnabled() && lvl.greaterThan(Verbosity.MINIMAL)) {
             Log.output("TIME", timer.toString());
         }
     }
 
+    /**
+     * Logs the latencies recorded by the recorder since it was created.
+     */
+    public static void logTime(LatencyRecorder recorder) {
+        Objects.requireNonNull(recorder, "Attempted to log a null recorder");
+        if (LogTimer.isTiming() && lvl.greaterThan(Verbosity.MINIMAL)) {
+            Log.output("TIME", recorder.toString());
+        }
+    }
+
+    /**
+     * Logs the latencies recorded since the previous interval snapshot of the recorder.
+     */
+    public static void logTimeInterval(LatencyRecorder recorder) {
+        Objects.requireNonNull(recorder, "Attempted to log a null recorder");
+        if (LogTimer.isTiming() && lvl.greaterThan(Verbosity.MINIMAL)) {
+            Log.output("TIME", recorder.report(recorder.intervalSnapshot()));
+        }
+    }
+
+    /**
+     * Logs a full {@link SystemSampler.Sample}; GC, allocation and safepoint figures cover the time since the previous
+     * call. Use a started {@link SystemSampler} with {@link SystemSampler#LOG_SINK} for periodic reporting instead.
+     */
     public static void logSystemStatus() {
         if (systemLoggingEnabled && lvl.greaterThan(Verbosity.STANDARD)) {
-            final Runtime myRuntime = Runtime.getRuntime();
-            final long maxMem = myRuntime.maxMemory();
-            final long totalMem = myRuntime.totalMemory();
-            final long freeMem = myRuntime.freeMemory();
-            final String msg = String.format("Memory Usage: %d Free | %d Total | %d Max", freeMem, totalMem, maxMem);
-            output("SYSTEM", msg);
+            output("SYSTEM", StatusSampler.INSTANCE.sample().toString());
         }
     }
 
+    private static class StatusSampler {
+        // Sampled on demand and never started, so the interval is unused
+        private static final SystemSampler INSTANCE = new SystemSampler(1, TimeUnit.SECONDS, 1);
+    }
+
     // ---------- Private helper methods -------------------------- //
     private static void output(String prefix, String content) {
+        enqueue(format(prefix, content));
+    }
+
+    /**
+     * Formats an event as every log line is written, for the current thread and time.
+     */
+    static String format(String prefix, String content) {
         final String time = timeF.format(new Date());
+        final LogContext context = LogContext.current();
         if (multiThreadEnabled) {
-            final String msg = String.format("[%s][%s][%s] %s", prefix, time, Thread.currentThread().getName(), content);
-            for (final PrintStream o : out) {
-                o.println(msg);
-            }
-        } else {
-            final String msg = String.format("[%s][%s] %s", prefix, time, content);
-            for (final PrintStream o : out) {
-                o.println(msg);
-            }
+            return String.format("[%s][%s][%s]%s %s", prefix, time, Thread.currentThread().getName(), context, content);
+        }
+        return String.format("[%s][%s]%s %s", prefix, time, context, content);
+    }
+
+    private static void enqueue(String event) {
+        for (final LogSink sink : out) {
+            sink.offer(event);
         }
     }
 }
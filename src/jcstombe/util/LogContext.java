@@ -0,0 +1,115 @@
+package jcstombe.util;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * An immutable set of key/value pairs (request id, tenant, ...) that is written into every log event produced while
+ * it is bound to the current thread. Contexts are built by chaining {@link #with(String, String)} and are bound only
+ * for the duration of {@link #run(Runnable)} or {@link #call(Callable)}, much like a scoped value, so they work the
+ * same on platform and virtual threads. Tasks handed to another thread (an executor or a structured concurrency
+ * subtask) carry the context along by being passed through {@link #wrap(Runnable)} or {@link #wrap(Callable)}.
+ * <p>
+ * The log prefix for a context is rendered once when the context is created, so logging under a context costs a
+ * thread local lookup and one string append per event.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class LogContext {
+
+    private static final LogContext EMPTY = new LogContext();
+    private static final ThreadLocal<LogContext> bound = new ThreadLocal<>();
+
+    public static LogContext empty() {
+        return EMPTY;
+    }
+
+    public static LogContext current() {
+        final LogContext context = bound.get();
+        return (context == null) ? EMPTY : context;
+    }
+
+    public static LogContext where(String key, String value) {
+        return current().with(key, value);
+    }
+
+    private final LogContext parent;
+    private final String key;
+    private final String value;
+    private final String rendered;
+
+    private LogContext() {
+        parent = null;
+        key = null;
+        value = null;
+        rendered = "";
+    }
+
+    private LogContext(LogContext parent, String key, String value) {
+        this.parent = parent;
+        this.key = key;
+        this.value = value;
+        rendered = parent.rendered + "[" + key + "=" + value + "]";
+    }
+
+    public LogContext with(String key, String value) {
+        Objects.requireNonNull(key, "LogContext key cannot be null");
+        return new LogContext(this, key, value);
+    }
+
+    public String get(String key) {
+        for (LogContext c = this; c != EMPTY; c = c.parent) {
+            if (c.key.equals(key)) return c.value;
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public void run(Runnable task) {
+        final LogContext previous = bound.get();
+        bound.set(this);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public <T> T call(Callable<T> task) throws Exception {
+        final LogContext previous = bound.get();
+        bound.set(this);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> call(task);
+    }
+
+    private static void restore(LogContext previous) {
+        if (previous == null) {
+            bound.remove();
+        } else {
+            bound.set(previous);
+        }
+    }
+
+    /**
+     * @return the pre-rendered log prefix for this context, e.g. "[request=42][tenant=acme]"
+     */
+    @Override
+    public String toString() {
+        return rendered;
+    }
+}
@@ -0,0 +1,262 @@
+package jcstombe.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A sparse time/level index over a file written by {@link Log}. The file is memory mapped in line aligned chunks which
+ * are indexed in parallel; every block of roughly 64KB records its time range and the set of level tags it contains.
+ * Queries only decode the lines of blocks that can match, so a narrow time range or a high level is answered without
+ * reading the rest of the file.
+ * <p>
+ * Timestamps are read in the default {@link Log} layout ("yyyyMMdd HH:mm:ss.SSS"). Filters are expected to be prefix
+ * filters like {@link Log#QQ_FILTER}; the levels they accept are found by testing them against each level tag, and a
+ * filter that accepts no tag is simply tested against every line in the time range.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LogIndex implements AutoCloseable {
+
+    private static final String[] LEVELS = {"CRITICAL", "ERROR", "RESULT", "WARN", "TIME", "INFO", "SYSTEM", "DETAIL", "NOTE"};
+    private static final int OTHER = LEVELS.length;
+    private static final int ALL_LEVELS = (1 << (OTHER + 1)) - 1;
+    private static final String TIME_LAYOUT = "dddddddd dd:dd:dd.ddd";
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static class Block {
+        private final int chunk;
+        private final int start;
+        private int end;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+        private int levels;
+
+        Block(int chunk, int start) {
+            this.chunk = chunk;
+            this.start = start;
+        }
+
+        boolean overlaps(long from, long to) {
+            return maxTime >= from && minTime <= to;
+        }
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final Block[] blocks;
+
+    public LogIndex(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        chunks = LineChunks.map(channel, LineChunks.bounds(channel, 0, channel.size()));
+        blocks = IntStream.range(0, chunks.length).parallel()
+                .mapToObj(this::indexChunk)
+                .flatMap(List::stream)
+                .toArray(Block[]::new);
+    }
+
+    public int blockCount() {
+        return blocks.length;
+    }
+
+    public List<String> query(Log.Verbosity verbosity, LocalDateTime from, LocalDateTime to) {
+        return query(Log.filter(verbosity), from, to);
+    }
+
+    public List<String> query(Predicate<String> filter, LocalDateTime from, LocalDateTime to) {
+        return lines(filter, from, to).collect(Collectors.toList());
+    }
+
+    public long count(Predicate<String> filter, LocalDateTime from, LocalDateTime to) {
+        return lines(filter, from, to).count();
+    }
+
+    /**
+     * @param filter line filter, e.g. {@link Log#Q_FILTER}
+     * @param from   earliest timestamp (inclusive), or null for no lower bound
+     * @param to     latest timestamp (inclusive), or null for no upper bound
+     * @return the matching lines in file order, scanned in parallel
+     */
+    public Stream<String> lines(Predicate<String> filter, LocalDateTime from, LocalDateTime to) {
+        final long lo = (from == null) ? Long.MIN_VALUE : timestamp(from);
+        final long hi = (to == null) ? Long.MAX_VALUE : timestamp(to);
+        final int mask = levelMask(filter);
+        return Arrays.stream(blocks).parallel()
+                .filter(b -> b.overlaps(lo, hi) && (b.levels & mask) != 0)
+                .flatMap(b -> scan(b, filter, mask, lo, hi).stream());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------- Indexing -------------------------- //
+    private List<Block> indexChunk(int c) {
+        final ByteBuffer buf = chunks[c];
+        final int limit = buf.limit();
+        final List<Block> chunkBlocks = new ArrayList<>(limit / BLOCK_SIZE + 1);
+        Block block = null;
+        int pos = 0;
+        while (pos < limit) {
+            if (block == null) {
+                block = new Block(c, pos);
+            }
+            final int eol = endOfLine(buf, pos, limit);
+            block.levels |= 1 << level(buf, pos, eol);
+            final long time = time(buf, pos, eol);
+            if (time >= 0) {
+                block.minTime = Math.min(block.minTime, time);
+                block.maxTime = Math.max(block.maxTime, time);
+            }
+            pos = eol + 1;
+            if (pos - block.start >= BLOCK_SIZE || pos >= limit) {
+                block.end = Math.min(pos, limit);
+                if (block.minTime > block.maxTime) {
+                    // No timestamps in this block, it can't be ruled out by time
+                    block.minTime = Long.MIN_VALUE;
+                    block.maxTime = Long.MAX_VALUE;
+                }
+                chunkBlocks.add(block);
+                block = null;
+            }
+        }
+        return chunkBlocks;
+    }
+
+    // ---------- Querying -------------------------- //
+    private List<String> scan(Block block, Predicate<String> filter, int mask, long from, long to) {
+        final ByteBuffer buf = chunks[block.chunk];
+        final List<String> matches = new ArrayList<>();
+        long current = block.minTime;
+        int pos = block.start;
+        while (pos < block.end) {
+            final int eol = endOfLine(buf, pos, block.end);
+            final long time = time(buf, pos, eol);
+            if (time >= 0) {
+                current = time;
+            }
+            if ((mask & (1 << level(buf, pos, eol))) != 0 && current >= from && current <= to) {
+                final String line = decode(buf, pos, eol);
+                if (filter.test(line)) {
+                    matches.add(line);
+                }
+            }
+            pos = eol + 1;
+        }
+        return matches;
+    }
+
+    private static int levelMask(Predicate<String> filter) {
+        int mask = 0;
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (filter.test("[" + LEVELS[i] + "]")) {
+                mask |= 1 << i;
+            }
+        }
+        return (mask == 0) ? ALL_LEVELS : mask;
+    }
+
+    // ---------- Line parsing -------------------------- //
+    private static int endOfLine(ByteBuffer buf, int pos, int limit) {
+        while (pos < limit && buf.get(pos) != '\n') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int level(ByteBuffer buf, int pos, int eol) {
+        if (pos >= eol || buf.get(pos) != '[') return OTHER;
+        for (int i = 0; i < LEVELS.length; i++) {
+            final String tag = LEVELS[i];
+            final int close = pos + 1 + tag.length();
+            if (close >= eol || buf.get(close) != ']') continue;
+            int j = 0;
+            while (j < tag.length() && buf.get(pos + 1 + j) == tag.charAt(j)) {
+                j++;
+            }
+            if (j == tag.length()) return i;
+        }
+        return OTHER;
+    }
+
+    /**
+     * Reads the timestamp from either the first bracket ("[time] Stack Trace") or the second ("[LEVEL][time] ...").
+     *
+     * @return the timestamp as the decimal number yyyyMMddHHmmssSSS, or -1 if the line has none
+     */
+    private static long time(ByteBuffer buf, int pos, int eol) {
+        if (pos >= eol || buf.get(pos) != '[') return -1;
+        int p = pos + 1;
+        if (p < eol && !isDigit(buf.get(p))) {
+            while (p < eol && buf.get(p) != ']') {
+                p++;
+            }
+            if (p + 1 >= eol || buf.get(p + 1) != '[') return -1;
+            p += 2;
+        }
+        if (p + TIME_LAYOUT.length() > eol) return -1;
+        long time = 0;
+        for (int i = 0; i < TIME_LAYOUT.length(); i++) {
+            final byte b = buf.get(p + i);
+            if (TIME_LAYOUT.charAt(i) == 'd') {
+                if (!isDigit(b)) return -1;
+                time = time * 10 + (b - '0');
+            } else if (b != TIME_LAYOUT.charAt(i)) {
+                return -1;
+            }
+        }
+        return time;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static String decode(ByteBuffer buf, int pos, int eol) {
+        if (eol > pos && buf.get(eol - 1) == '\r') {
+            eol--;
+        }
+        final byte[] bytes = new byte[eol - pos];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(pos + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static long timestamp(LocalDateTime t) {
+        long time = t.getYear();
+        time = time * 100 + t.getMonthValue();
+        time = time * 100 + t.getDayOfMonth();
+        time = time * 100 + t.getHour();
+        time = time * 100 + t.getMinute();
+        time = time * 100 + t.getSecond();
+        return time * 1000 + t.getNano() / 1000000;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LogIndex <file> <verbosity> [from] [to]   (times as 2018-05-07T14:02:00)");
+            return;
+        }
+        final Log.Verbosity verbosity = Log.Verbosity.valueOf(args[1]);
+        final LocalDateTime from = (args.length > 2) ? LocalDateTime.parse(args[2]) : null;
+        final LocalDateTime to = (args.length > 3) ? LocalDateTime.parse(args[3]) : null;
+        try (LogIndex index = new LogIndex(new File(args[0]))) {
+            index.lines(Log.filter(verbosity), from, to).forEachOrdered(System.out::println);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package jcstombe.util;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single destination for log events. Events are placed on a bounded queue and written to the underlying stream by a
+ * dedicated daemon thread, so a slow stream only delays its own output. When the queue is full the event is dropped
+ * and counted instead of blocking the logging thread; the writer reports the drop count once it catches up.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class LogSink {
+
+    static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final AtomicInteger sinkCount = new AtomicInteger();
+
+    private final PrintStream out;
+    private final BlockingQueue<String> queue;
+    private final Thread writer;
+    private final AtomicLong accepted;
+    private final AtomicLong dropped;
+    private volatile long written;
+    private volatile boolean open;
+    private long reportedDrops;
+
+    LogSink(PrintStream out, int capacity) {
+        this.out = out;
+        queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        accepted = new AtomicLong();
+        dropped = new AtomicLong();
+        open = true;
+        writer = new Thread(this::drain, "Log-Sink-" + sinkCount.incrementAndGet());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    PrintStream stream() {
+        return out;
+    }
+
+    long droppedEvents() {
+        return dropped.get();
+    }
+
+    boolean offer(String event) {
+        if (!open) return false;
+        if (queue.offer(event)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Blocks until every event accepted before this call has been written, then flushes the stream.
+     */
+    void flush() {
+        final long target = accepted.get();
+        synchronized (this) {
+            while (written < target && writer.isAlive()) {
+                try {
+                    wait(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes out any queued events and stops the writer thread. The stream itself is left open.
+     */
+    void close() {
+        flush();
+        open = false;
+        writer.interrupt();
+    }
+
+    private void drain() {
+        final List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (open) {
+                batch.add(queue.take());
+                write(batch);
+            }
+        } catch (InterruptedException ignored) {
+            // Closing, write whatever is left below
+        }
+        do {
+            write(batch);
+        } while (!queue.isEmpty());
+        out.flush();
+    }
+
+    private void write(List<String> batch) {
+        queue.drainTo(batch, BATCH_SIZE - batch.size());
+        if (batch.isEmpty()) return;
+        for (String event : batch) {
+            out.println(event);
+        }
+        final long drops = dropped.get();
+        if (drops > reportedDrops) {
+            out.println(Log.format("WARN", String.format("Log output fell behind, %d events dropped",
+                    drops - reportedDrops)));
+            reportedDrops = drops;
+        }
+        if (queue.isEmpty()) {
+            out.flush();
+        }
+        written += batch.size();
+        batch.clear();
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+}
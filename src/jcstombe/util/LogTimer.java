@@ -1,46 +1,83 @@
 package jcstombe.util;
 
+import java.lang.invoke.MethodHandle;
+
 /**
  * A performance timing implementation (stopwatch, not alarm).
  *
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 7, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class LogTimer {
 
-    private static boolean timingEnabled = true;
+    // Invoked through a static final handle, so the JIT folds the state of the default category into the caller
+    private static final MethodHandle DEFAULT_ENABLED = TimingCategory.DEFAULT.dynamicInvoker();
 
     public static void enableTiming() {
-        timingEnabled = true;
+        TimingCategory.DEFAULT.enable();
     }
 
     public static void disableTiming() {
-        timingEnabled = false;
+        TimingCategory.DEFAULT.disable();
     }
 
     public static boolean isTiming() {
-        return timingEnabled;
+        try {
+            return (boolean) DEFAULT_ENABLED.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
     }
 
+    private final TimingCategory category;
     private String timerName;
     private long startTime;
 
     public LogTimer(String name) {
-        timerName = name;
-        start();
+        this(TimingCategory.DEFAULT, name);
     }
 
     public LogTimer(String nameFormat, Object... args) {
         this(String.format(nameFormat, args));
     }
 
+    public LogTimer(TimingCategory category, String name) {
+        this.category = category;
+        timerName = name;
+        start();
+    }
+
+    public TimingCategory getCategory() {
+        return category;
+    }
+
+    /**
+     * @return whether the timer's category is enabled; for the default category this is a constant of compiled code
+     */
+    public boolean isEnabled() {
+        return (category == TimingCategory.DEFAULT) ? isTiming() : category.isEnabled();
+    }
+
     public void start() {
-        if (!timingEnabled) {
+        if (!isEnabled()) {
             return;
         }
         startTime = System.nanoTime();
     }
 
+    /**
+     * Records the elapsed time into the given recorder.
+     *
+     * @return the elapsed nanoseconds
+     */
+    public long stop(TimeRecorder recorder) {
+        final long nanos = getNanoseconds();
+        if (isEnabled()) {
+            recorder.record(nanos);
+        }
+        return nanos;
+    }
+
     public void restart() {
         start();
     }
@@ -51,7 +88,7 @@ public class LogTimer {
     }
 
     private long getNanoseconds(long curTime) {
-        if (!timingEnabled) {
+        if (!isEnabled()) {
             return 0;
         }
         return curTime - startTime;
@@ -0,0 +1,41 @@
+package jcstombe.util;
+
+/**
+ * An immutable pair of a long and a double. The double is compared like {@link Double#equals(Object)}, so NaN equals
+ * NaN and 0.0 does not equal -0.0.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class LongDoublePair {
+
+    public final long first;
+    public final double second;
+    private final int hash;
+
+    public LongDoublePair(long first, double second) {
+        this.first = first;
+        this.second = second;
+        hash = Hashing.hash(first, Double.doubleToLongBits(second));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LongDoublePair) {
+            LongDoublePair other = (LongDoublePair) obj;
+            return first == other.first && Double.doubleToLongBits(second) == Double.doubleToLongBits(other.second);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + first + ", " + second + ")";
+    }
+}
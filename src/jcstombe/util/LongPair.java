@@ -0,0 +1,40 @@
+package jcstombe.util;
+
+/**
+ * An immutable pair of two longs.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class LongPair {
+
+    public final long first;
+    public final long second;
+    private final int hash;
+
+    public LongPair(long first, long second) {
+        this.first = first;
+        this.second = second;
+        hash = Hashing.hash(first, second);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LongPair) {
+            LongPair other = (LongPair) obj;
+            return first == other.first && second == other.second;
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + first + ", " + second + ")";
+    }
+}
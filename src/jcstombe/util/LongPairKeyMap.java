@@ -0,0 +1,177 @@
+package jcstombe.util;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link PairKeyMap} keyed on two longs, stored unboxed in two parallel arrays. Values may be null.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LongPairKeyMap<V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long first, long second, V value);
+    }
+
+    private long[] keys1;
+    private long[] keys2;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    public LongPairKeyMap() {
+        this(PairKeyMap.MIN_CAPACITY);
+    }
+
+    public LongPairKeyMap(int expectedSize) {
+        allocate(PairKeyMap.tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys1 = new long[capacity];
+        keys2 = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 3 * 2;
+    }
+
+    private int find(long k1, long k2) {
+        for (int i = Hashing.hash(k1, k2) & mask; ; i = (i + 1) & mask) {
+            if (values[i] == null) return ~i;
+            if (keys1[i] == k1 && keys2[i] == k2) return i;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        final Object v = values[slot];
+        return (v == PairKeyMap.NULL_VALUE) ? null : (V) v;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long k1, long k2) {
+        return find(k1, k2) >= 0;
+    }
+
+    public V get(long k1, long k2) {
+        final int slot = find(k1, k2);
+        return (slot >= 0) ? value(slot) : null;
+    }
+
+    public V getOrDefault(long k1, long k2, V defaultValue) {
+        final int slot = find(k1, k2);
+        return (slot >= 0) ? value(slot) : defaultValue;
+    }
+
+    public V put(long k1, long k2, V value) {
+        final int slot = find(k1, k2);
+        final Object stored = (value == null) ? PairKeyMap.NULL_VALUE : value;
+        if (slot >= 0) {
+            final V old = value(slot);
+            values[slot] = stored;
+            return old;
+        }
+        keys1[~slot] = k1;
+        keys2[~slot] = k2;
+        values[~slot] = stored;
+        if (++size > threshold) {
+            grow();
+        }
+        return null;
+    }
+
+    public V remove(long k1, long k2) {
+        final int slot = find(k1, k2);
+        if (slot < 0) return null;
+        final V old = value(slot);
+        delete(slot);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys1[i], keys2[i], value(i));
+            }
+        }
+    }
+
+    /**
+     * @return the entries keyed by a {@link LongPair}; each step of the iteration allocates the view
+     */
+    public Iterable<Map.Entry<LongPair, V>> entries() {
+        return () -> new Iterator<Map.Entry<LongPair, V>>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public Map.Entry<LongPair, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final int slot = next;
+                next = advance(next + 1);
+                return new AbstractMap.SimpleImmutableEntry<>(new LongPair(keys1[slot], keys2[slot]), value(slot));
+            }
+        };
+    }
+
+    private void delete(int slot) {
+        int gap = slot;
+        for (int j = (slot + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            final int ideal = Hashing.hash(keys1[j], keys2[j]) & mask;
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                keys1[gap] = keys1[j];
+                keys2[gap] = keys2[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void grow() {
+        final long[] oldKeys1 = keys1, oldKeys2 = keys2;
+        final Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int slot = Hashing.hash(oldKeys1[i], oldKeys2[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys1[slot] = oldKeys1[i];
+            keys2[slot] = oldKeys2[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package jcstombe.util;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small in-process benchmark runner built on {@link LogTimer}, for code where JMH is not available. Each run warms
+ * the workload up, sizes an iteration to the configured iteration time, measures a number of iterations, rejects
+ * outlying iterations (outside 1.5 interquartile ranges) and reports the mean time per operation with a 95% confidence
+ * interval. Results returned by the workload are consumed by a blackhole so the JIT can't remove the work.
+ * <pre>
+ *     MicroBenchmark bench = new MicroBenchmark().warmupIterations(5).iterations(20);
+ *     MicroBenchmark.Measurement a = bench.run("HashMap.get", () -> hashMap.get(key));
+ *     MicroBenchmark.Measurement b = bench.run("LinkedLRUCacheMap.get", () -> cache.get(key));
+ *     Log.time("%s", a.compareTo(b));
+ * </pre>
+ * Everything runs in the calling JVM, so results are affected by whatever was run before; compare measurements taken
+ * in the same order and the same process.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class MicroBenchmark {
+
+    @FunctionalInterface
+    public interface Workload {
+        /**
+         * @return a value derived from the work, which is consumed so the work can't be optimized away
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * Keeps values alive as far as the JIT can tell. The sentinel is never equal to a consumed value but, being
+     * volatile, has to be compared against every time.
+     */
+    public static final class Blackhole {
+        private volatile Object sentinel = new Object();
+        private Object leaked;
+
+        public void consume(Object value) {
+            if (value == sentinel) {
+                leaked = value;
+            }
+        }
+    }
+
+    public static class Measurement {
+        public final String name;
+        public final long operations;
+        public final double[] samples;
+        public final int outliers;
+        public final double mean;
+        public final double stdDev;
+        public final double error;
+
+        private Measurement(String name, long operations, double[] allSamples) {
+            this.name = name;
+            this.operations = operations;
+            final double[] sorted = allSamples.clone();
+            Arrays.sort(sorted);
+            final double q1 = quantile(sorted, 0.25);
+            final double q3 = quantile(sorted, 0.75);
+            final double low = q1 - 1.5 * (q3 - q1);
+            final double high = q3 + 1.5 * (q3 - q1);
+            samples = Arrays.stream(sorted).filter(s -> s >= low && s <= high).toArray();
+            outliers = sorted.length - samples.length;
+            mean = Arrays.stream(samples).average().orElse(0);
+            double squares = 0;
+            for (double s : samples) {
+                squares += (s - mean) * (s - mean);
+            }
+            stdDev = (samples.length > 1) ? Math.sqrt(squares / (samples.length - 1)) : 0;
+            error = (samples.length > 1) ? studentT975(samples.length - 1) * stdDev / Math.sqrt(samples.length) : 0;
+        }
+
+        public double min() {
+            return (samples.length == 0) ? 0 : samples[0];
+        }
+
+        public double max() {
+            return (samples.length == 0) ? 0 : samples[samples.length - 1];
+        }
+
+        public Comparison compareTo(Measurement other) {
+            return new Comparison(this, other);
+        }
+
+        /**
+         * Adds this measurement to a file created by {@link #resultFile(File)}.
+         */
+        public void addTo(ResultFile<String> file) {
+            final ResultFile<String>.Result r = file.new Result(name.replaceAll("\\s", "_"));
+            r.addStatistic("mean_ns", mean);
+            r.addStatistic("error_ns", error);
+            r.addStatistic("min_ns", min());
+            r.addStatistic("max_ns", max());
+            r.addStatistic("samples", samples.length);
+            r.addStatistic("outliers", outliers);
+            r.addStatistic("operations", operations);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s {%.3f +/- %.3f ns/op (95%% CI), min %.3f, max %.3f, %d samples, %d outliers}",
+                    name, mean, error, min(), max(), samples.length, outliers);
+        }
+    }
+
+    public static class Comparison {
+        public final Measurement baseline;
+        public final Measurement candidate;
+
+        private Comparison(Measurement baseline, Measurement candidate) {
+            this.baseline = baseline;
+            this.candidate = candidate;
+        }
+
+        /**
+         * @return candidate time over baseline time, below 1 when the candidate is faster
+         */
+        public double ratio() {
+            return (baseline.mean == 0) ? Double.NaN : candidate.mean / baseline.mean;
+        }
+
+        /**
+         * @return whether the confidence intervals of the two measurements don't overlap
+         */
+        public boolean isSignificant() {
+            return Math.abs(candidate.mean - baseline.mean) > candidate.error + baseline.error;
+        }
+
+        @Override
+        public String toString() {
+            final double ratio = ratio();
+            return String.format("%s is %.2fx %s than %s (%s)", candidate.name, (ratio < 1) ? 1 / ratio : ratio,
+                    (ratio < 1) ? "faster" : "slower", baseline.name, isSignificant() ? "significant" : "within error");
+        }
+    }
+
+    private static double quantile(double[] sorted, double q) {
+        if (sorted.length == 0) return 0;
+        final double pos = q * (sorted.length - 1);
+        final int i = (int) Math.floor(pos);
+        final int j = Math.min(i + 1, sorted.length - 1);
+        return sorted[i] + (pos - i) * (sorted[j] - sorted[i]);
+    }
+
+    private static final double[] T_975 = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064, 2.060,
+            2.056, 2.052, 2.048, 2.045, 2.042};
+
+    private static double studentT975(int degreesOfFreedom) {
+        if (degreesOfFreedom <= T_975.length) return T_975[degreesOfFreedom - 1];
+        if (degreesOfFreedom <= 60) return 2.000;
+        if (degreesOfFreedom <= 120) return 1.980;
+        return 1.960;
+    }
+
+    /**
+     * @return an empty result file holding one row per measurement, see {@link Measurement#addTo(ResultFile)}
+     */
+    public static ResultFile<String> resultFile(File file) {
+        final ResultFile<String> results = new ResultFile<String>(file) {
+            @Override
+            public String printResultId(String resultId) {
+                return resultId;
+            }
+
+            @Override
+            public String printResultIdHeader() {
+                return "benchmark";
+            }
+
+            @Override
+            public String readResultId(ResultFields in) {
+                return in.next();
+            }
+
+            @Override
+            public boolean validResultIdHeader(ResultFields in) {
+                return in.hasNext() && in.nextEquals("benchmark");
+            }
+        };
+        for (String stat : new String[]{"mean_ns", "error_ns", "min_ns", "max_ns"}) {
+            results.addStatistic(stat, ResultStatisticFormat.floatingPoint().precision(3));
+        }
+        for (String stat : new String[]{"samples", "outliers", "operations"}) {
+            results.addStatistic(stat, ResultStatisticFormat.integer());
+        }
+        return results;
+    }
+
+    private int warmupIterations;
+    private int iterations;
+    private long iterationNanos;
+    private long operations;
+    private boolean logging;
+    private final Blackhole blackhole;
+
+    public MicroBenchmark() {
+        warmupIterations = 5;
+        iterations = 10;
+        iterationNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        operations = -1;
+        logging = true;
+        blackhole = new Blackhole();
+    }
+
+    public MicroBenchmark warmupIterations(int n) {
+        if (n > -1) {
+            warmupIterations = n;
+        }
+        return this;
+    }
+
+    public MicroBenchmark iterations(int n) {
+        if (n > 0) {
+            iterations = n;
+        }
+        return this;
+    }
+
+    public MicroBenchmark iterationTime(long time, TimeUnit unit) {
+        if (time > 0) {
+            iterationNanos = unit.toNanos(time);
+        }
+        return this;
+    }
+
+    /**
+     * Fixes the number of operations per iteration instead of sizing iterations to the iteration time.
+     */
+    public MicroBenchmark operations(long n) {
+        if (n > 0) {
+            operations = n;
+        }
+        return this;
+    }
+
+    /**
+     * Whether each measurement is logged through {@link Log#time(String, Object...)}, on by default.
+     */
+    public MicroBenchmark logging(boolean enable) {
+        logging = enable;
+        return this;
+    }
+
+    public Measurement run(String name, Workload workload) throws Exception {
+        if (!LogTimer.isTiming()) throw new IllegalStateException("MicroBenchmark requires timing to be enabled");
+        final long ops = (operations > 0) ? operations : calibrate(workload);
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(workload, ops);
+        }
+        final double[] samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            samples[i] = (double) iteration(workload, ops) / ops;
+        }
+        final Measurement m = new Measurement(name, ops, samples);
+        if (logging) {
+            Log.time("%s", m);
+        }
+        return m;
+    }
+
+    private long iteration(Workload workload, long ops) throws Exception {
+        final LogTimer timer = new LogTimer("iteration");
+        for (long i = 0; i < ops; i++) {
+            blackhole.consume(workload.run());
+        }
+        return timer.getNanoseconds();
+    }
+
+    /**
+     * Doubles the operation count until an iteration takes a tenth of the iteration time, then scales it up.
+     */
+    private long calibrate(Workload workload) throws Exception {
+        long ops = 1;
+        long nanos = iteration(workload, ops);
+        while (nanos < iterationNanos / 10 && ops < Long.MAX_VALUE / 4) {
+            ops *= 2;
+            nanos = iteration(workload, ops);
+        }
+        return Math.max(1, (long) (ops * ((double) iterationNanos / Math.max(1, nanos))));
+    }
+}
@@ -1,13 +1,16 @@
 package jcstombe.util;
 
+import java.util.Objects;
+
 /**
- * A class providing basic immutable tuple functionality in Java
+ * A class providing basic immutable tuple functionality in Java. Either thing may be null. For pairs of primitives
+ * see {@link IntPair}, {@link LongPair}, {@link IntLongPair}, {@link IntDoublePair} and {@link LongDoublePair}.
  *
  * @param <T1> Type of the first thing
  * @param <T2> Type of the second thing
  * @author Josh Stomberg <jcstombe@mtu.edu>
  * <p>
- * Last Modified: May 7, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class Pair<T1, T2> {
 
@@ -23,7 +26,7 @@ public class Pair<T1, T2> {
     public boolean equals(Object obj) {
         if (obj instanceof Pair) {
             Pair other = (Pair) obj;
-            return first.equals(other.first) && second.equals(other.second);
+            return Objects.equals(first, other.first) && Objects.equals(second, other.second);
         } else {
             return false;
         }
@@ -31,6 +34,6 @@ public class Pair<T1, T2> {
 
     @Override
     public int hashCode() {
-        return Integer.rotateLeft(first.hashCode(), 7) ^ second.hashCode();
+        return Hashing.hash(Objects.hashCode(first), Objects.hashCode(second));
     }
 }
@@ -0,0 +1,226 @@
+package jcstombe.util;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A hash map keyed on two values, without building a {@link Pair} for every lookup. Both key components, their hash
+ * and the value are stored inline in parallel arrays and collisions are resolved by linear probing, so get, put and
+ * remove allocate nothing (other than when the table grows). Keys and values may be null. Iterating the entries as
+ * {@link Pair} keyed map entries allocates a view per entry; {@link #forEach(EntryConsumer)} does not.
+ * <p>
+ * The map is not thread safe, and iterators don't detect concurrent modification.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class PairKeyMap<K1, K2, V> {
+
+    @FunctionalInterface
+    public interface EntryConsumer<K1, K2, V> {
+        void accept(K1 first, K2 second, V value);
+    }
+
+    static final int MIN_CAPACITY = 8;
+    // Marks occupied slots holding a null value; an empty slot holds null
+    static final Object NULL_VALUE = new Object();
+
+    static int tableSize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (1 << 30) && capacity / 3 * 2 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private Object[] keys1;
+    private Object[] keys2;
+    private Object[] values;
+    private int[] hashes;
+    private int size;
+    private int mask;
+    private int threshold;
+
+    public PairKeyMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public PairKeyMap(int expectedSize) {
+        allocate(tableSize(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys1 = new Object[capacity];
+        keys2 = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 3 * 2;
+    }
+
+    private static int hash(Object k1, Object k2) {
+        return Hashing.hash(Objects.hashCode(k1), Objects.hashCode(k2));
+    }
+
+    /**
+     * @return the slot holding the key, or the complement of the empty slot where it would go
+     */
+    private int find(Object k1, Object k2, int h) {
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            if (values[i] == null) return ~i;
+            if (hashes[i] == h && Objects.equals(keys1[i], k1) && Objects.equals(keys2[i], k2)) return i;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int slot) {
+        final Object v = values[slot];
+        return (v == NULL_VALUE) ? null : (V) v;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(K1 k1, K2 k2) {
+        return find(k1, k2, hash(k1, k2)) >= 0;
+    }
+
+    public V get(K1 k1, K2 k2) {
+        final int slot = find(k1, k2, hash(k1, k2));
+        return (slot >= 0) ? value(slot) : null;
+    }
+
+    public V getOrDefault(K1 k1, K2 k2, V defaultValue) {
+        final int slot = find(k1, k2, hash(k1, k2));
+        return (slot >= 0) ? value(slot) : defaultValue;
+    }
+
+    public V put(K1 k1, K2 k2, V value) {
+        final int h = hash(k1, k2);
+        final int slot = find(k1, k2, h);
+        final Object stored = (value == null) ? NULL_VALUE : value;
+        if (slot >= 0) {
+            final V old = value(slot);
+            values[slot] = stored;
+            return old;
+        }
+        final int empty = ~slot;
+        keys1[empty] = k1;
+        keys2[empty] = k2;
+        hashes[empty] = h;
+        values[empty] = stored;
+        if (++size > threshold) {
+            grow();
+        }
+        return null;
+    }
+
+    public V remove(K1 k1, K2 k2) {
+        final int slot = find(k1, k2, hash(k1, k2));
+        if (slot < 0) return null;
+        final V old = value(slot);
+        delete(slot);
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(keys1, null);
+        Arrays.fill(keys2, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public void forEach(EntryConsumer<? super K1, ? super K2, ? super V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(key1(i), key2(i), value(i));
+            }
+        }
+    }
+
+    /**
+     * @return the entries keyed by a {@link Pair} of the two keys; each step of the iteration allocates the view
+     */
+    public Iterable<Map.Entry<Pair<K1, K2>, V>> entries() {
+        return () -> new Iterator<Map.Entry<Pair<K1, K2>, V>>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            public Map.Entry<Pair<K1, K2>, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final int slot = next;
+                next = advance(next + 1);
+                return new AbstractMap.SimpleImmutableEntry<>(new Pair<>(key1(slot), key2(slot)), value(slot));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private K1 key1(int slot) {
+        return (K1) keys1[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    private K2 key2(int slot) {
+        return (K2) keys2[slot];
+    }
+
+    /**
+     * Empties a slot by shifting later entries of the same probe run back, so no tombstones are needed.
+     */
+    private void delete(int slot) {
+        int gap = slot;
+        for (int j = (slot + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            final int ideal = hashes[j] & mask;
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                keys1[gap] = keys1[j];
+                keys2[gap] = keys2[j];
+                hashes[gap] = hashes[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys1[gap] = null;
+        keys2[gap] = null;
+        values[gap] = null;
+    }
+
+    private void grow() {
+        final Object[] oldKeys1 = keys1, oldKeys2 = keys2, oldValues = values;
+        final int[] oldHashes = hashes;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int slot = oldHashes[i] & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys1[slot] = oldKeys1[i];
+            keys2[slot] = oldKeys2[i];
+            hashes[slot] = oldHashes[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package jcstombe.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * A {@link LogTimer} that also measures the CPU time, user time and heap allocation of the thread that started it, so
+ * a slow section can be told apart as busy (cpu close to wall time), blocked (cpu well below wall time) or allocating.
+ * Figures the JVM cannot provide are reported as -1.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class ResourceTimer extends LogTimer {
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private static final boolean cpuTimeSupported = enableCpuTime();
+    private static final boolean allocationSupported = enableAllocation();
+
+    private static boolean enableCpuTime() {
+        try {
+            if (!threads.isThreadCpuTimeSupported()) return false;
+            if (!threads.isThreadCpuTimeEnabled()) {
+                threads.setThreadCpuTimeEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static boolean enableAllocation() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return false;
+        final com.sun.management.ThreadMXBean t = (com.sun.management.ThreadMXBean) threads;
+        try {
+            if (!t.isThreadAllocatedMemorySupported()) return false;
+            if (!t.isThreadAllocatedMemoryEnabled()) {
+                t.setThreadAllocatedMemoryEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    // Assigned by start(), which LogTimer's constructor calls before this class' initializers would run
+    private long threadId;
+    private long startCpu;
+    private long startUser;
+    private long startAllocated;
+
+    public ResourceTimer(String name) {
+        super(name);
+    }
+
+    public ResourceTimer(String nameFormat, Object... args) {
+        super(nameFormat, args);
+    }
+
+    public ResourceTimer(TimingCategory category, String name) {
+        super(category, name);
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        threadId = Thread.currentThread().getId();
+        startCpu = cpuTime();
+        startUser = userTime();
+        startAllocated = allocatedBytes();
+        super.start();
+    }
+
+    private long cpuTime() {
+        if (!cpuTimeSupported) return -1;
+        return (Thread.currentThread().getId() == threadId)
+                ? threads.getCurrentThreadCpuTime() : threads.getThreadCpuTime(threadId);
+    }
+
+    private long userTime() {
+        if (!cpuTimeSupported) return -1;
+        return (Thread.currentThread().getId() == threadId)
+                ? threads.getCurrentThreadUserTime() : threads.getThreadUserTime(threadId);
+    }
+
+    private long allocatedBytes() {
+        if (!allocationSupported) return -1;
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId);
+    }
+
+    private long since(long start, long now) {
+        return (start < 0 || now < 0 || !isEnabled()) ? -1 : now - start;
+    }
+
+    public long getCpuNanoseconds() {
+        return since(startCpu, cpuTime());
+    }
+
+    public long getUserNanoseconds() {
+        return since(startUser, userTime());
+    }
+
+    public long getAllocatedBytes() {
+        return since(startAllocated, allocatedBytes());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s {cpu %.3f ms, user %.3f ms, allocated %d bytes}", super.toString(),
+                getCpuNanoseconds() / 1e6, getUserNanoseconds() / 1e6, getAllocatedBytes());
+    }
+}
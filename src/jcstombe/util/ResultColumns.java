@@ -0,0 +1,352 @@
+package jcstombe.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The columnar binary form of a {@link ResultFile}. Every statistic is stored as one block of primitive values, so a
+ * column is loaded by decoding it in one pass over the mapped file instead of parsing text. Loading is not zero copy:
+ * the values are copied into the columns of the result file, as they would be by a text read. Integer statistics are
+ * stored as longs and floating point statistics as the bits of their doubles; each column is written in whichever of
+ * these encodings is smallest:
+ * <ul>
+ * <li>PLAIN: one 8 byte value per result</li>
+ * <li>DELTA: the first value, then the zigzag encoded difference to the previous value in 1, 2 or 4 bytes</li>
+ * <li>DICTIONARY: the sorted distinct values, then a 1 or 2 byte index into them per result</li>
+ * </ul>
+ * The layout, big endian throughout:
+ * <pre>
+ *     long magic, int results, int statistics
+ *     per statistic: int length and UTF-8 name, boolean floating point, int width, int precision, int flags
+ *     int[results + 1] offsets of the ids, then the UTF-8 ids as printed by printResultId
+ *     per statistic: byte encoding, boolean sparse, [long[] bits of the results holding a value], the values
+ * </pre>
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class ResultColumns {
+
+    // "RSLTCOL2"; version 1 wrote the statistic names in modified UTF-8
+    private static final long MAGIC = 0x52534c54434f4c32L;
+    private static final byte PLAIN = 0;
+    private static final byte DELTA = 1;
+    private static final byte DICTIONARY = 2;
+    private static final int MAX_DICTIONARY = 1 << 16;
+
+    private ResultColumns() {
+    }
+
+    // ---------- Writing -------------------------- //
+    static <Ident> void write(ResultFile<Ident> resultFile, File file) throws IOException {
+        final List<ResultFile<Ident>.Result> rows = new ArrayList<>(resultFile.results());
+        final Map<String, ResultStatisticFormat> formats = resultFile.formats();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeLong(MAGIC);
+            out.writeInt(rows.size());
+            out.writeInt(formats.size());
+            for (Map.Entry<String, ResultStatisticFormat> e : formats.entrySet()) {
+                final ResultStatisticFormat format = e.getValue();
+                final byte[] name = e.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(name.length);
+                out.write(name);
+                out.writeBoolean(format.isFloatingPoint());
+                out.writeInt(format.getWidth());
+                out.writeInt(format.getPrecision());
+                out.writeInt(format.getFlags());
+            }
+
+            final byte[][] ids = new byte[rows.size()][];
+            int offset = 0;
+            out.writeInt(offset);
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = resultFile.printResultId(rows.get(i).getResultId()).getBytes(StandardCharsets.UTF_8);
+                offset += ids[i].length;
+                out.writeInt(offset);
+            }
+            for (byte[] id : ids) {
+                out.write(id);
+            }
+
+            final long[] values = new long[rows.size()];
+            final long[] present = new long[(rows.size() + 63) >>> 6];
+            for (Map.Entry<String, ResultStatisticFormat> e : formats.entrySet()) {
+                final boolean floatingPoint = e.getValue().isFloatingPoint();
+                final int column = resultFile.statisticIndex(e.getKey());
+                boolean sparse = false;
+                Arrays.fill(present, 0);
+                for (int i = 0; i < values.length; i++) {
+                    final ResultFile<Ident>.Result r = rows.get(i);
+                    if (!r.hasStatistic(column)) {
+                        sparse = true;
+                        values[i] = 0;
+                    } else {
+                        present[i >>> 6] |= 1L << i;
+                        values[i] = floatingPoint ? Double.doubleToRawLongBits(r.getDouble(column)) : r.getLong(column);
+                    }
+                }
+                writeColumn(out, values, sparse ? present : null);
+            }
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, long[] values, long[] present) throws IOException {
+        final int n = values.length;
+        final int deltaWidth = deltaWidth(values);
+        final long[] dictionary = dictionary(values);
+        final int indexWidth = (dictionary == null) ? 0 : (dictionary.length <= 256) ? 1 : 2;
+
+        final long plainSize = 8L * n;
+        final long deltaSize = (n == 0 || deltaWidth == 8) ? Long.MAX_VALUE : 9L + (long) deltaWidth * (n - 1);
+        final long dictionarySize = (dictionary == null) ? Long.MAX_VALUE : 5L + 8L * dictionary.length + (long) indexWidth * n;
+        final byte encoding = (dictionarySize < plainSize && dictionarySize <= deltaSize) ? DICTIONARY
+                : (deltaSize < plainSize) ? DELTA : PLAIN;
+
+        out.writeByte(encoding);
+        out.writeBoolean(present != null);
+        if (present != null) {
+            for (long bits : present) {
+                out.writeLong(bits);
+            }
+        }
+        switch (encoding) {
+            case DELTA:
+                out.writeLong(values[0]);
+                out.writeByte(deltaWidth);
+                for (int i = 1; i < n; i++) {
+                    writeUnsigned(out, zigzag(values[i] - values[i - 1]), deltaWidth);
+                }
+                break;
+            case DICTIONARY:
+                out.writeInt(dictionary.length);
+                for (long v : dictionary) {
+                    out.writeLong(v);
+                }
+                out.writeByte(indexWidth);
+                for (long v : values) {
+                    writeUnsigned(out, Arrays.binarySearch(dictionary, v), indexWidth);
+                }
+                break;
+            default:
+                for (long v : values) {
+                    out.writeLong(v);
+                }
+        }
+    }
+
+    private static long zigzag(long delta) {
+        return (delta << 1) ^ (delta >> 63);
+    }
+
+    private static long unzigzag(long z) {
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    /**
+     * @return the bytes (1, 2, 4 or 8) needed for every zigzag encoded delta
+     */
+    private static int deltaWidth(long[] values) {
+        long bits = 0;
+        for (int i = 1; i < values.length; i++) {
+            bits |= zigzag(values[i] - values[i - 1]);
+        }
+        if ((bits & ~0xffL) == 0) return 1;
+        if ((bits & ~0xffffL) == 0) return 2;
+        if ((bits & ~0xffffffffL) == 0) return 4;
+        return 8;
+    }
+
+    /**
+     * @return the sorted distinct values, or null if there are too many for a dictionary
+     */
+    private static long[] dictionary(long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                if (distinct == MAX_DICTIONARY) return null;
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+
+    private static void writeUnsigned(DataOutputStream out, long v, int width) throws IOException {
+        switch (width) {
+            case 1:
+                out.writeByte((int) v);
+                break;
+            case 2:
+                out.writeShort((int) v);
+                break;
+            case 4:
+                out.writeInt((int) v);
+                break;
+            default:
+                out.writeLong(v);
+        }
+    }
+
+    // ---------- Reading -------------------------- //
+    static <Ident> void read(ResultFile<Ident> resultFile, FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Column file too large to map: " + channel.size() + " bytes");
+        }
+        final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buf.remaining() < 16 || buf.getLong() != MAGIC) {
+            throw new IOException("Not a result column file");
+        }
+        final int rows = buf.getInt();
+        final int statistics = buf.getInt();
+        final String[] names = new String[statistics];
+        final boolean[] floatingPoint = new boolean[statistics];
+        for (int s = 0; s < statistics; s++) {
+            names[s] = readName(buf);
+            require(buf, 13);
+            floatingPoint[s] = buf.get() != 0;
+            // The stored format is only needed to describe the file; values are typed by the reading file's formats
+            buf.position(buf.position() + 12);
+        }
+
+        require(buf, 4L * (rows + 1));
+        final int[] offsets = new int[rows + 1];
+        buf.asIntBuffer().get(offsets);
+        buf.position(buf.position() + 4 * offsets.length);
+        final int idStart = buf.position();
+        buf.position(idStart + offsets[rows]);
+
+        final List<ResultFile<Ident>.Result> results = new ArrayList<>(rows);
+        final ResultFields fields = new ResultFields();
+        for (int i = 0; i < rows; i++) {
+            fields.reset(buf, idStart + offsets[i], idStart + offsets[i + 1]);
+            results.add(resultFile.new Result(resultFile.readResultId(fields)));
+        }
+
+        final long[] values = new long[rows];
+        final long[] present = new long[(rows + 63) >>> 6];
+        for (int s = 0; s < statistics; s++) {
+            final boolean sparse = readColumn(buf, values, present);
+            final int column = resultFile.statisticIndex(names[s]);
+            if (column < 0) continue;
+            for (int i = 0; i < rows; i++) {
+                if (sparse && (present[i >>> 6] & (1L << i)) == 0) continue;
+                if (floatingPoint[s]) {
+                    results.get(i).setDouble(column, Double.longBitsToDouble(values[i]));
+                } else {
+                    results.get(i).setLong(column, values[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a column into values, and the bits of the results holding a value into present when it is sparse.
+     *
+     * @return whether the column is sparse
+     */
+    private static boolean readColumn(ByteBuffer buf, long[] values, long[] present) {
+        final byte encoding = buf.get();
+        final boolean sparse = buf.get() != 0;
+        if (sparse) {
+            buf.asLongBuffer().get(present);
+            buf.position(buf.position() + 8 * present.length);
+        }
+        final int n = values.length;
+        switch (encoding) {
+            case DELTA: {
+                long v = buf.getLong();
+                final int width = buf.get();
+                values[0] = v;
+                for (int i = 1; i < n; i++) {
+                    v += unzigzag(readUnsigned(buf, width));
+                    values[i] = v;
+                }
+                break;
+            }
+            case DICTIONARY: {
+                final long[] dictionary = new long[buf.getInt()];
+                buf.asLongBuffer().get(dictionary);
+                buf.position(buf.position() + 8 * dictionary.length);
+                final int width = buf.get();
+                for (int i = 0; i < n; i++) {
+                    values[i] = dictionary[(int) readUnsigned(buf, width)];
+                }
+                break;
+            }
+            case PLAIN:
+                buf.asLongBuffer().get(values);
+                buf.position(buf.position() + 8 * n);
+                break;
+            default:
+                throw new IllegalStateException("Result Column Format Exception: Unknown encoding " + encoding);
+        }
+        return sparse;
+    }
+
+    private static long readUnsigned(ByteBuffer buf, int width) {
+        switch (width) {
+            case 1:
+                return buf.get() & 0xffL;
+            case 2:
+                return buf.getShort() & 0xffffL;
+            case 4:
+                return buf.getInt() & 0xffffffffL;
+            default:
+                return buf.getLong();
+        }
+    }
+
+    /**
+     * @throws IOException if fewer bytes than needed are left, as in a truncated or corrupt file
+     */
+    private static void require(ByteBuffer buf, long bytes) throws IOException {
+        if (bytes < 0 || buf.remaining() < bytes) {
+            throw new IOException("Truncated result column file");
+        }
+    }
+
+    private static String readName(ByteBuffer buf) throws IOException {
+        require(buf, 4);
+        final int length = buf.getInt();
+        if (length < 0 || length > buf.remaining()) {
+            throw new IOException("Corrupt statistic name in result column file");
+        }
+        final byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the statistic formats described by the header of a column file
+     */
+    static Map<String, ResultStatisticFormat> formats(FileChannel channel) throws IOException {
+        // Mapped rather than read into a buffer, so a header of any length is read whole and only its pages are touched
+        final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                Math.min(channel.size(), Integer.MAX_VALUE));
+        if (header.remaining() < 16 || header.getLong() != MAGIC) {
+            throw new IOException("Not a result column file");
+        }
+        header.getInt();
+        final int statistics = header.getInt();
+        final Map<String, ResultStatisticFormat> formats = new LinkedHashMap<>();
+        for (int s = 0; s < statistics; s++) {
+            final String name = readName(header);
+            require(header, 13);
+            formats.put(name, ResultStatisticFormat.of(header.get() != 0, header.getInt(), header.getInt(), header.getInt()));
+        }
+        return formats;
+    }
+}
@@ -0,0 +1,317 @@
+package jcstombe.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * A cursor over the tab separated fields of one line of a {@link ResultFile}, read in place from the bytes of the
+ * file. Numbers are parsed straight from those bytes without building a String; only {@link #next()} allocates.
+ * Numeric fields may have leading or trailing spaces and a sign, as written by widths and the LEFT_JUSTIFY / PLUS /
+ * LEADING_SPACE flags of a {@link ResultStatisticFormat}, and the digits and decimal separator of the default format
+ * locale.
+ * <p>
+ * A cursor is reused for every line of a file, so the fields must be consumed before the reader moves on.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class ResultFields {
+
+    private static final byte TAB = '\t';
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private ByteBuffer buffer;
+    private int lineEnd;
+    private int pos;
+
+    ResultFields() {
+    }
+
+    /**
+     * @return a cursor over a single line, e.g. to test the id hooks of a {@link ResultFile}
+     */
+    public static ResultFields of(String line) {
+        final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return new ResultFields().reset(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /**
+     * Points the cursor at the line held by buffer between start (inclusive) and end (exclusive).
+     */
+    ResultFields reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        lineEnd = end;
+        // An empty line has no fields, unlike a line holding one empty field between tabs
+        pos = (start == end) ? end + 1 : start;
+        return this;
+    }
+
+    public boolean hasNext() {
+        return pos <= lineEnd;
+    }
+
+    /**
+     * @return the end of the current field, which must exist
+     */
+    private int fieldEnd() {
+        if (pos > lineEnd) throw new NoSuchElementException();
+        int i = pos;
+        while (i < lineEnd && buffer.get(i) != TAB) {
+            i++;
+        }
+        return i;
+    }
+
+    public String next() {
+        final int end = fieldEnd();
+        final String s = decode(pos, end);
+        pos = end + 1;
+        return s;
+    }
+
+    public void skip() {
+        pos = fieldEnd() + 1;
+    }
+
+    /**
+     * @return whether the next field is the given text, consuming it either way
+     */
+    public boolean nextEquals(String text) {
+        final int end = fieldEnd();
+        boolean equal = (end - pos == text.length());
+        for (int i = 0; equal && i < text.length(); i++) {
+            equal = (buffer.get(pos + i) == text.charAt(i));
+        }
+        if (!equal && !isAscii(text)) {
+            equal = decode(pos, end).equals(text);
+        }
+        pos = end + 1;
+        return equal;
+    }
+
+    /**
+     * Skips the next field if it is "null", which is how a statistic missing from a result is written.
+     *
+     * @return whether the field was skipped
+     */
+    boolean skipNull() {
+        final int end = fieldEnd();
+        if (end - pos != 4 || buffer.get(pos) != 'n' || buffer.get(pos + 1) != 'u' || buffer.get(pos + 2) != 'l'
+                || buffer.get(pos + 3) != 'l') return false;
+        pos = end + 1;
+        return true;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    public int nextInt() {
+        final long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for an int: " + value);
+        }
+        return (int) value;
+    }
+
+    public long nextLong() {
+        final int end = fieldEnd();
+        final int last = trimSpaces(pos, end);
+        int i = skipSpaces(pos, last);
+        final boolean negative = (i < last && buffer.get(i) == '-');
+        if (i < last && (negative || buffer.get(i) == '+')) {
+            i++;
+        }
+        if (i == last) throw numberFormat(end);
+        // Accumulated negatively so Long.MIN_VALUE doesn't overflow
+        long value = 0;
+        for (; i < last; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                value = localeLong(last, end);
+                pos = end + 1;
+                return value;
+            }
+            if (value < (Long.MIN_VALUE + digit) / 10) throw numberFormat(end);
+            value = value * 10 - digit;
+        }
+        if (!negative && value == Long.MIN_VALUE) throw numberFormat(end);
+        pos = end + 1;
+        return negative ? value : -value;
+    }
+
+    /**
+     * Parses a plain decimal exactly when its digits fit a double and the power of ten is exact, which covers
+     * everything written by a fixed precision format; the decimal separator may be '.' or that of the default format
+     * locale, which String.format writes. Anything else (exponents, long mantissas, NaN, Infinity) is left to
+     * {@link Double#parseDouble(String)}, and then to a Scanner in the default format locale.
+     */
+    public double nextDouble() {
+        final int end = fieldEnd();
+        final int last = trimSpaces(pos, end);
+        final int start = skipSpaces(pos, last);
+        final char separator = decimalSeparator();
+        int i = start;
+        final boolean negative = (i < last && buffer.get(i) == '-');
+        if (i < last && (negative || buffer.get(i) == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean anyDigit = false;
+        boolean point = false;
+        boolean simple = true;
+        for (; simple && i < last; i++) {
+            final byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                if (mantissa != 0 || b != '0') {
+                    digits++;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                anyDigit = true;
+                if (point) {
+                    scale++;
+                }
+            } else if ((b == '.' || b == separator) && !point) {
+                point = true;
+            } else {
+                simple = false;
+            }
+        }
+        double value;
+        if (simple && anyDigit && digits <= 15 && scale < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[scale];
+            value = negative ? -value : value;
+        } else {
+            try {
+                value = Double.parseDouble(decode(start, last));
+            } catch (NumberFormatException e) {
+                value = localeDouble(last, end);
+            }
+        }
+        pos = end + 1;
+        return value;
+    }
+
+    /**
+     * The default format locale last checked, and its decimal separator.
+     */
+    private static final class DecimalLocale {
+        final Locale locale;
+        final char separator;
+
+        DecimalLocale(Locale locale) {
+            this.locale = locale;
+            separator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+        }
+    }
+
+    private static volatile DecimalLocale decimalLocale = new DecimalLocale(Locale.getDefault(Locale.Category.FORMAT));
+
+    private static char decimalSeparator() {
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        DecimalLocale checked = decimalLocale;
+        if (checked.locale != locale) {
+            checked = decimalLocale = new DecimalLocale(locale);
+        }
+        return checked.separator;
+    }
+
+    /**
+     * Parses the trimmed field as a long in the default format locale, for digits other than ASCII.
+     */
+    private long localeLong(int last, int end) {
+        final Scanner in = localeScanner(last);
+        try {
+            final long value = in.nextLong();
+            if (!in.hasNext()) return value;
+        } catch (NoSuchElementException e) {
+            // Not a number in this locale either
+        }
+        throw numberFormat(end);
+    }
+
+    /**
+     * Parses the trimmed field as a double in the default format locale, for digits or symbols other than ASCII.
+     */
+    private double localeDouble(int last, int end) {
+        final Scanner in = localeScanner(last);
+        try {
+            final double value = in.nextDouble();
+            if (!in.hasNext()) return value;
+        } catch (NoSuchElementException e) {
+            // Not a number in this locale either
+        }
+        throw numberFormat(end);
+    }
+
+    private Scanner localeScanner(int last) {
+        return new Scanner(decode(skipSpaces(pos, last), last)).useLocale(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    private int skipSpaces(int from, int end) {
+        while (from < end && buffer.get(from) == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * @return the end of the field without the trailing spaces of a left justified value
+     */
+    private int trimSpaces(int start, int end) {
+        while (end > start && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private NumberFormatException numberFormat(int end) {
+        return new NumberFormatException("For input string: \"" + decode(pos, end) + "\"");
+    }
+
+    private String decode(int from, int to) {
+        final byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the remaining text of the line, for a {@link Scanner} handed to the hooks of a {@link ScannerResultFile}
+     */
+    String rest() {
+        return (pos > lineEnd) ? "" : decode(pos, lineEnd);
+    }
+
+    /**
+     * Moves past what a {@link Scanner} over {@link #rest()} consumed, along with the tab that follows it.
+     */
+    void consumed(Scanner in, String rest) {
+        int chars;
+        try {
+            chars = in.match().end();
+        } catch (IllegalStateException e) {
+            chars = 0;
+        }
+        pos += rest.substring(0, chars).getBytes(StandardCharsets.UTF_8).length;
+        if (pos == lineEnd) {
+            pos++;
+        } else if (pos < lineEnd && buffer.get(pos) == TAB) {
+            pos++;
+        }
+    }
+}
@@ -1,48 +1,198 @@
 package jcstombe.util;
 
+import java.io.Closeable;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.PrintStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
+ * A file of results, one line per result id with a column per registered statistic.
+ * <p>
+ * A result file is filled from one thread through {@link Result#Result(Object)}, or from several at once through a
+ * {@link Collector} per thread. Statistics are registered before collecting starts. The queries and writes may be
+ * called from any thread while collectors are running, and see every result that had been published when they
+ * started.
+ *
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: 05 07, 2018
+ * Last Modified: Oct 19, 2026
  */
 public abstract class ResultFile<Ident> {
 
+    /**
+     * A row of results: its statistics live in the columns of a {@link StatisticTable} rather than in the result, and
+     * can be read and written by the column index of a statistic (see {@link #statisticIndex(String)}) without boxing.
+     * Integer statistics are held as longs and floating point statistics as doubles, converting values of the other
+     * kind; the name based methods box them as an Integer (or a Long beyond the int range) or a Double.
+     */
     public class Result {
         private Ident resultId;
-        private Map<String, Number> statsMap;
+        private final StatisticTable table;
+        private final int row;
+        private boolean registered;
+        private boolean changed;
 
         public Result(Ident resultId) {
+            this(resultId, true, ResultFile.this.table);
+        }
+
+        private Result(Ident resultId, boolean register, StatisticTable table) {
             Objects.requireNonNull(resultId, "ResultId cannot be null");
             this.resultId = resultId;
-            statsMap = new HashMap<>();
-            ResultFile.this.results.add(this);
+            // A result that won't be added keeps a row of its own, so the shared table only grows with the results
+            this.table = (register && results.containsKey(resultId)) ? new StatisticTable(1) : table;
+            row = this.table.addRow();
+            if (register) {
+                registered = ResultFile.this.results.putIfAbsent(resultId, this) == null;
+                changed(this);
+            }
+        }
+
+        public Ident getResultId() {
+            return resultId;
         }
 
         public void addStatistic(String name, Number value) {
-            if (!formatMap.containsKey(name)) return;
-            statsMap.put(name, value);
+            final Integer column = columns.get(name);
+            if (column == null) return;
+            if (value == null) {
+                clearStatistic(column);
+            } else if (isFloatingPoint(column)) {
+                setDouble(column, value.doubleValue());
+            } else {
+                setLong(column, value.longValue());
+            }
         }
 
         public Number getStatistic(String name) {
-            return statsMap.get(name);
+            final Integer column = columns.get(name);
+            if (column == null || !hasStatistic(column)) return null;
+            if (isFloatingPoint(column)) {
+                return getDouble(column);
+            }
+            final long value = getLong(column);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
         }
 
-        @Override
-        public String toString() {
-            StringBuilder out = new StringBuilder(printResultId(resultId));
-            for (String key : formatMap.keySet()) {
-                try {
-                    String statString = String.format('\t' + formatMap.get(key).formatString(), statsMap.get(key));
-                    out.append(statString);
-                } catch (IllegalFormatException e) {
-                    Log.error("Illegal foramt '%s' for statistic '%s' in a result", formatMap.get(key), key);
-                    out.append("\t").append(statsMap.get(key));
+        public boolean hasStatistic(int column) {
+            return table.has(row, column);
+        }
+
+        /**
+         * @return the statistic, or 0 if the result doesn't have it
+         */
+        public long getLong(int column) {
+            return isFloatingPoint(column) ? (long) table.getDouble(row, column) : table.getLong(row, column);
+        }
+
+        /**
+         * @return the statistic, or 0 if the result doesn't have it
+         */
+        public double getDouble(int column) {
+            return isFloatingPoint(column) ? table.getDouble(row, column) : table.getLong(row, column);
+        }
+
+        public void setLong(int column, long value) {
+            if (isFloatingPoint(column)) {
+                table.setDouble(row, column, value);
+            } else {
+                table.setLong(row, column, value);
+            }
+            changed(this);
+        }
+
+        public void setDouble(int column, double value) {
+            if (isFloatingPoint(column)) {
+                table.setDouble(row, column, value);
+            } else {
+                table.setLong(row, column, (long) value);
+            }
+            changed(this);
+        }
+
+        public void clearStatistic(int column) {
+            table.clear(row, column);
+            changed(this);
+        }
+
+        /**
+         * Copies every statistic the other result has, replacing the values this result has for them.
+         */
+        public void addStatistics(Result other) {
+            for (int column = 0; column < columnFormats.size(); column++) {
+                if (!other.hasStatistic(column)) continue;
+                if (isFloatingPoint(column)) {
+                    setDouble(column, other.getDouble(column));
+                } else {
+                    setLong(column, other.getLong(column));
                 }
             }
+        }
+
+        ResultFile<Ident> owner() {
+            return ResultFile.this;
+        }
+
+        /**
+         * Turns an unregistered result into an empty result of another id, for reading results one at a time.
+         */
+        void reset(Ident resultId) {
+            this.resultId = resultId;
+            table.clearRow(row);
+        }
+
+        /**
+         * Appends the line of the result, without a line separator, as written to the file.
+         */
+        public void appendTo(StringBuilder out) {
+            out.append(printResultId(resultId));
+            final LineFormat line = lineFormat();
+            for (int i = 0; i < line.columns.length; i++) {
+                final int column = line.columns[i];
+                final StatisticFormatter formatter = line.formats[i].formatter();
+                out.append('\t');
+                if (!hasStatistic(column)) {
+                    // Formatting would truncate or pad it, and the reader skips exactly "null"
+                    out.append("null");
+                } else if (!formatter.isLegal()) {
+                    Log.error("Illegal foramt '%s' for statistic '%s' in a result", line.formats[i], line.names[i]);
+                    out.append(getStatistic(line.names[i]));
+                } else if (isFloatingPoint(column)) {
+                    formatter.format(getDouble(column), out);
+                } else {
+                    formatter.format(getLong(column), out);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder out = new StringBuilder();
+            appendTo(out);
             return out.toString();
         }
 
@@ -62,24 +212,93 @@ public abstract class ResultFile<Ident> {
         }
     }
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @FunctionalInterface
+    private interface ChannelReader {
+        void read(FileChannel channel) throws IOException;
+    }
+
     private File file;
     private Map<String, ResultStatisticFormat> formatMap;
-    private Set<Result> results;
+    private Map<String, Integer> columns;
+    private List<ResultStatisticFormat> columnFormats;
+    private StatisticTable table;
+    private Map<Ident, Result> results;
+    private List<Result> changed;
+    private volatile boolean loading;
+    private volatile ResultJournal journal;
+    private final Object lock = new Object();
+    private LineFormat lineFormat;
+    private final Queue<List<Result>> published = new ConcurrentLinkedQueue<>();
 
     public ResultFile(File file) {
         this.file = file;
-        results = new HashSet<>();
+        results = new ConcurrentHashMap<>();
         formatMap = new HashMap<>();
+        columns = new HashMap<>();
+        columnFormats = new ArrayList<>();
+        table = new StatisticTable();
+        changed = new ArrayList<>();
     }
 
+    /**
+     * Registers a statistic, interning its name as a column index. Registering a name again with a format of the
+     * other kind (integer or floating point) starts a new, empty column for it.
+     */
     public void addStatistic(String name, ResultStatisticFormat format) {
-        formatMap.put(name, format);
+        lineFormat = null;
+        final ResultStatisticFormat previous = formatMap.put(name, format);
+        if (previous == null || previous.isFloatingPoint() != format.isFloatingPoint()) {
+            columns.put(name, columnFormats.size());
+            columnFormats.add(format);
+        } else {
+            columnFormats.set(columns.get(name), format);
+        }
+    }
+
+    /**
+     * The statistics of a line in the order of the header, with their columns and formats.
+     */
+    private static final class LineFormat {
+        final String[] names;
+        final int[] columns;
+        final ResultStatisticFormat[] formats;
+
+        LineFormat(Map<String, ResultStatisticFormat> formatMap, Map<String, Integer> columnMap) {
+            names = formatMap.keySet().toArray(new String[0]);
+            columns = new int[names.length];
+            formats = new ResultStatisticFormat[names.length];
+            for (int i = 0; i < names.length; i++) {
+                columns[i] = columnMap.get(names[i]);
+                formats[i] = formatMap.get(names[i]);
+            }
+        }
     }
 
-    private Set<String> readHeaderLine(String headerLine) {
+    private LineFormat lineFormat() {
+        LineFormat line = lineFormat;
+        if (line == null) {
+            line = lineFormat = new LineFormat(formatMap, columns);
+        }
+        return line;
+    }
+
+    /**
+     * @return the column index of a registered statistic, for the index based accessors of {@link Result}, or -1
+     */
+    public int statisticIndex(String name) {
+        final Integer column = columns.get(name);
+        return (column == null) ? -1 : column;
+    }
+
+    private boolean isFloatingPoint(int column) {
+        return columnFormats.get(column).isFloatingPoint();
+    }
+
+    private Set<String> readHeaderLine(ResultFields lineIn) {
         Set<String> stats = new LinkedHashSet<>();
-        Scanner lineIn = new Scanner(headerLine);
-        lineIn.useDelimiter("\t");
         if (validResultIdHeader(lineIn)) {
             while (lineIn.hasNext()) {
                 stats.add(lineIn.next());
@@ -90,50 +309,984 @@ public abstract class ResultFile<Ident> {
         return stats;
     }
 
-    public boolean contains(Result r) {
-        return results.contains(r);
+    /**
+     * Remembers a result added or changed since the last write, for {@link #appendResults()}.
+     */
+    private void changed(Result r) {
+        if (loading || !r.registered || r.changed) return;
+        synchronized (lock) {
+            if (r.changed) return;
+            r.changed = true;
+            changed.add(r);
+        }
     }
 
-    public void readResults() {
-        try (Scanner fileIn = new Scanner(file)) {
-            if (!fileIn.hasNextLine()) return;
-            Set<String> fileStats = readHeaderLine(fileIn.nextLine());
-            while (fileIn.hasNextLine()) {
-                Scanner lineIn = new Scanner(fileIn.nextLine());
-                Ident resultId = readResultId(lineIn);
-                lineIn.useDelimiter("\t");
-                Result r = new Result(resultId);
-                for (String key : fileStats) {
-                    ResultStatisticFormat format = formatMap.get(key);
-                    if (format == null) {
-                        lineIn.next();
-                    } else if (format.isFloatingPoint()) {
-                        r.addStatistic(key, lineIn.nextDouble());
-                    } else {
-                        r.addStatistic(key, lineIn.nextInt());
+    private void clearChanged() {
+        changed.forEach(r -> r.changed = false);
+        changed.clear();
+    }
+
+    /**
+     * Collects results on one thread, for filling a result file from several threads at once. A collector gives its
+     * results rows in a table of its own and hands them to the result file a batch at a time, through a lock free
+     * queue, so workers never wait on each other or on a write; the result file merges the batches into its results
+     * when it is next queried or written.
+     * <p>
+     * A result is published with its batch, either when the batch is full and the next result is started or when the
+     * collector is flushed or closed. Fill in a result before starting the next one, and leave it alone once it is
+     * published. Until then it belongs to the collector and is not in the result file. An id that is already there
+     * keeps its existing result, as with {@link Result#Result(Object)}.
+     * <p>
+     * A collector is not thread safe; give every thread one of its own.
+     */
+    public final class Collector implements AutoCloseable {
+        private final int batchSize;
+        private StatisticTable table;
+        private List<Result> batch;
+
+        private Collector(int batchSize) {
+            if (batchSize < 1) throw new IllegalArgumentException("Collector batch size must be positive");
+            this.batchSize = batchSize;
+        }
+
+        /**
+         * Starts a new result, publishing the previous batch if it is full.
+         */
+        public Result newResult(Ident resultId) {
+            if (batch != null && batch.size() == batchSize) {
+                flush();
+            }
+            if (batch == null) {
+                // A batch gets a table of its own, so nothing written after publishing it moves its rows
+                table = new StatisticTable(batchSize);
+                batch = new ArrayList<>(batchSize);
+            }
+            final Result r = new Result(resultId, false, table);
+            batch.add(r);
+            return r;
+        }
+
+        /**
+         * Publishes the results started so far.
+         */
+        public void flush() {
+            if (batch == null) return;
+            published.add(batch);
+            batch = null;
+            table = null;
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+
+    /**
+     * @return a collector publishing its results in batches of 1024
+     */
+    public Collector collector() {
+        return collector(1024);
+    }
+
+    public Collector collector(int batchSize) {
+        return new Collector(batchSize);
+    }
+
+    /**
+     * @return a result that is not added to the result file, with a row of its own
+     */
+    Result detached(Ident resultId) {
+        return new Result(resultId, false, new StatisticTable(1));
+    }
+
+    File file() {
+        return file;
+    }
+
+    /**
+     * Merges the batches published by collectors into the results.
+     *
+     * @return the results
+     */
+    private Map<Ident, Result> merged() {
+        if (!published.isEmpty()) {
+            synchronized (lock) {
+                for (List<Result> batch = published.poll(); batch != null; batch = published.poll()) {
+                    for (Result r : batch) {
+                        r.registered = results.putIfAbsent(r.resultId, r) == null;
+                        changed(r);
                     }
                 }
-                results.add(r);
             }
-        } catch (FileNotFoundException e) {
-            Log.info("Missing Results File: %s. No results loaded", file.getName());
+        }
+        return results;
+    }
+
+    /**
+     * @return the journal, created on first use since it needs the id header of the subclass; every file operation
+     * synchronizes on it, so it must be the same object for every thread
+     */
+    private ResultJournal journal() {
+        ResultJournal j = journal;
+        if (j == null) {
+            synchronized (lock) {
+                j = journal;
+                if (j == null) {
+                    j = journal = new ResultJournal(file, printResultIdHeader().split("\t", -1).length);
+                }
+            }
+        }
+        return j;
+    }
+
+    Map<String, ResultStatisticFormat> formats() {
+        return formatMap;
+    }
+
+    Collection<Result> results() {
+        return merged().values();
+    }
+
+    public boolean contains(Result r) {
+        return merged().containsKey(r.resultId);
+    }
+
+    /**
+     * @return the result with the given id, or null if there is none
+     */
+    public Result getResult(Ident resultId) {
+        return merged().get(resultId);
+    }
+
+    public int size() {
+        return merged().size();
+    }
+
+    /**
+     * @return the rows allocated in the statistic table results are added to directly, which holds one row per result
+     * created or read one at a time; results read in parallel or collected keep the rows of their chunk or batch
+     */
+    public int statisticRows() {
+        return table.rows();
+    }
+
+    public Stream<Result> stream() {
+        return merged().values().stream();
+    }
+
+    /**
+     * @return an index of the results sorted by id in their natural order, which Ident must have
+     */
+    @SuppressWarnings("unchecked")
+    public ResultIndex.ById<Ident> indexIds() {
+        return indexIds((a, b) -> ((Comparable<Object>) a).compareTo(b));
+    }
+
+    public ResultIndex.ById<Ident> indexIds(Comparator<? super Ident> order) {
+        return new ResultIndex.ById<>(merged().values(), order);
+    }
+
+    /**
+     * @return an index of the results holding the statistic, sorted by its value
+     */
+    public ResultIndex.ByStatistic<Ident> indexStatistic(String statistic) {
+        return new ResultIndex.ByStatistic<>(merged().values(), column(statistic));
+    }
+
+    /**
+     * @return the k results with the highest values of the statistic, highest first, found in one parallel pass
+     */
+    public List<Result> top(String statistic, int k) {
+        return ResultIndex.top(stream().parallel(), column(statistic), k);
+    }
+
+    /**
+     * @return the summary of a statistic over all results, computed in one parallel pass
+     */
+    public StatisticSummary summarize(String statistic) {
+        return summarize(stream().parallel(), statistic);
+    }
+
+    /**
+     * @return the summary of a statistic over the results of a stream, e.g. a filtered {@link #stream()} or a range
+     * of an index, in one pass (in parallel if the stream is)
+     */
+    public StatisticSummary summarize(Stream<Result> results, String statistic) {
+        final int column = column(statistic);
+        return results.collect(StatisticSummary::new, (summary, r) -> {
+            if (r.hasStatistic(column)) {
+                summary.accept(r.getDouble(column));
+            }
+        }, StatisticSummary::combine);
+    }
+
+    private int column(String statistic) {
+        final int column = statisticIndex(statistic);
+        if (column < 0) throw new IllegalArgumentException("Unknown statistic: " + statistic);
+        return column;
+    }
+
+    /**
+     * Reads the file straight from its channel: lines are split and numbers parsed in place in the read buffer, so
+     * the only objects built per line are the result id and the result itself. Results appended to the journal by
+     * {@link #appendResults()} are replayed over those of the file.
+     */
+    public void readResults() {
+        synchronized (journal()) {
+            read(file, channel -> readLines(channel, new LineReader(null, false)));
+            replayJournal();
+        }
+    }
+
+    /**
+     * Reads the file like {@link #readResults()}, with the lines after the header memory mapped in line aligned
+     * chunks that are parsed in parallel on the common fork/join pool. Each chunk collects its own results and the
+     * chunks are merged in file order, so the outcome is the same as a sequential read: the first line of an id wins
+     * and a format error keeps the results before it. The id hooks are called from several threads at once.
+     */
+    public void readResultsParallel() {
+        synchronized (journal()) {
+            read(file, this::readResultsParallel);
+            replayJournal();
+        }
+    }
+
+    private void replayJournal() {
+        final ResultJournal journal = journal();
+        for (File f : new File[]{journal.old(), journal.journal()}) {
+            if (f.exists()) {
+                read(f, channel -> readLines(channel, new LineReader(null, true)));
+            }
+        }
+    }
+
+    /**
+     * Reads results from a file written by {@link #writeColumns(File)}. Each column is decoded from the mapped file in
+     * one pass and its values copied into the results, and ids are read in place through
+     * {@link #readResultId(ResultFields)}.
+     */
+    public void readColumns(File columnFile) {
+        read(columnFile, channel -> ResultColumns.read(this, channel));
+    }
+
+    private void read(File from, ChannelReader reader) {
+        loading = true;
+        try (FileChannel channel = FileChannel.open(from.toPath(), StandardOpenOption.READ)) {
+            reader.read(channel);
+        } catch (NoSuchFileException e) {
+            Log.info("Missing Results File: %s. No results loaded", from.getName());
+        } catch (IOException e) {
+            Log.warn("Result File Read Error: %s", e.getMessage());
         } catch (NoSuchElementException e) {
             Log.warn("Result File Format Error: Missing Element");
         } catch (RuntimeException e) {
             Log.warn(e.getMessage());
+        } finally {
+            loading = false;
+        }
+    }
+
+    private void readLines(FileChannel channel, LineReader reader) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        boolean eof = false;
+        while (!eof) {
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            int start = 0;
+            for (int i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    reader.line(buffer, start, i);
+                    start = i + 1;
+                }
+            }
+            if (eof && start < buffer.limit()) {
+                reader.line(buffer, start, buffer.limit());
+                start = buffer.limit();
+            }
+            buffer.position(start);
+            buffer.compact();
+            if (!buffer.hasRemaining()) {
+                // A line longer than the buffer
+                final ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+    }
+
+    private void readResultsParallel(FileChannel channel) throws IOException {
+        final long size = channel.size();
+        if (size == 0) return;
+        final long headerEnd = LineChunks.nextLine(channel, 0, size);
+        final ByteBuffer headerLine = ByteBuffer.allocate((int) headerEnd);
+        while (headerLine.hasRemaining()) {
+            if (channel.read(headerLine, headerLine.position()) < 0) break;
+        }
+        int end = headerLine.position();
+        if (end > 0 && headerLine.get(end - 1) == '\n') {
+            end--;
+        }
+        final LineReader header = new LineReader(null, false);
+        header.line(headerLine, 0, end);
+
+        final MappedByteBuffer[] chunks = LineChunks.map(channel, LineChunks.bounds(channel, headerEnd, size));
+        final List<LineReader> parsed = IntStream.range(0, chunks.length).parallel()
+                .mapToObj(c -> header.readChunk(chunks[c]))
+                .collect(Collectors.toList());
+        for (LineReader chunk : parsed) {
+            chunk.collected.forEach(r -> r.registered = results.putIfAbsent(r.resultId, r) == null);
+            if (chunk.error != null) throw chunk.error;
+        }
+    }
+
+    /**
+     * Turns the lines of a file into results, the first line being the header naming the statistics. A reader for a
+     * chunk of a parallel read collects its results instead of adding them, and keeps the error that stopped it. A
+     * reader replaying a journal replaces the statistics of the ids it reads.
+     */
+    private class LineReader {
+        private final ResultFields fields = new ResultFields();
+        private final List<Result> collected;
+        private final boolean replace;
+        private final StatisticTable chunkTable;
+        private int[] statistics;
+        private boolean[] floatingPoint;
+        private RuntimeException error;
+
+        LineReader(List<Result> collected, boolean replace) {
+            this.collected = collected;
+            this.replace = replace;
+            chunkTable = (collected == null) ? table : new StatisticTable(1024);
+        }
+
+        void line(ByteBuffer buffer, int start, int end) {
+            if (!fields(buffer, start, end)) return;
+            final Ident resultId = readResultId(fields);
+            if (replace) {
+                // Replaced in place, rather than leaving the row of the old result behind in the table
+                final Result existing = results.get(resultId);
+                if (existing != null) {
+                    existing.table.clearRow(existing.row);
+                    statistics(existing);
+                    return;
+                }
+            }
+            Result r = new Result(resultId, collected == null, chunkTable);
+            if (collected != null) {
+                collected.add(r);
+            }
+            statistics(r);
+        }
+
+        /**
+         * Moves the fields onto a line, reading it as the header if it is the first.
+         *
+         * @return whether the line holds a result
+         */
+        boolean fields(ByteBuffer buffer, int start, int end) {
+            fields.reset(buffer, start, end);
+            if (statistics == null) {
+                final String[] names = readHeaderLine(fields).toArray(new String[0]);
+                statistics = new int[names.length];
+                floatingPoint = new boolean[names.length];
+                for (int i = 0; i < names.length; i++) {
+                    statistics[i] = statisticIndex(names[i]);
+                    floatingPoint[i] = statistics[i] >= 0 && isFloatingPoint(statistics[i]);
+                }
+                return false;
+            }
+            return fields.hasNext();
+        }
+
+        /**
+         * Reads the statistics of the line into a result, the fields being past its id.
+         */
+        void statistics(Result r) {
+            for (int i = 0; i < statistics.length; i++) {
+                if (statistics[i] < 0) {
+                    fields.skip();
+                } else if (fields.skipNull()) {
+                    // A statistic the result didn't have when written
+                } else if (floatingPoint[i]) {
+                    r.setDouble(statistics[i], fields.nextDouble());
+                } else {
+                    r.setLong(statistics[i], fields.nextLong());
+                }
+            }
+        }
+
+        /**
+         * @return a reader holding the results of the lines of the chunk, read with this reader's header
+         */
+        LineReader readChunk(ByteBuffer chunk) {
+            final LineReader reader = new LineReader(new ArrayList<>(), false);
+            reader.statistics = statistics;
+            reader.floatingPoint = floatingPoint;
+            final int limit = chunk.limit();
+            int start = 0;
+            try {
+                for (int i = 0; i < limit; i++) {
+                    if (chunk.get(i) == '\n') {
+                        reader.line(chunk, start, i);
+                        start = i + 1;
+                    }
+                }
+                if (start < limit) {
+                    reader.line(chunk, start, limit);
+                }
+            } catch (RuntimeException e) {
+                reader.error = e;
+            }
+            return reader;
         }
     }
 
-    private void printHeaderLine(PrintStream out) {
-        out.print(printResultIdHeader());
-        formatMap.keySet().forEach((statName) -> out.print('\t' + statName));
+    /**
+     * Reads the results of a file one at a time into a single reused result that is not added to the result file, so
+     * a file of any size is read in the memory of its longest line. The file is read with the statistics of this
+     * result file, as by {@link #readResults()}, but its journal is not replayed; compact it first, see
+     * {@link #compactJournal()}.
+     * <p>
+     * A cursor is an iterator that reads a line only when the next result is asked for, so a slow consumer holds the
+     * reading back rather than results piling up. {@link #next()} returns the same result every time, filled in
+     * with the next line; keep a result beyond that by copying its statistics, see {@link Result#addStatistics}.
+     * Errors reading the file are thrown as UncheckedIOException. A cursor is not thread safe.
+     */
+    public final class Cursor implements Iterator<Result>, Closeable {
+        private final FileChannel channel;
+        private final LineReader reader = new LineReader(null, false);
+        private final Function<Ident, Result> own = this::own;
+        private ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private int position;
+        private boolean eof;
+        private Result result;
+        private boolean fetched;
+        private boolean more;
+
+        Cursor(File from) throws IOException {
+            channel = FileChannel.open(from.toPath(), StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!fetched) {
+                try {
+                    more = advance();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                fetched = true;
+            }
+            return more;
+        }
+
+        /**
+         * @return the next result, valid until the following call
+         */
+        @Override
+        public Result next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            fetched = false;
+            return result;
+        }
+
+        /**
+         * Moves on to the next result, which replaces the current one.
+         *
+         * @return false at the end of the file
+         */
+        boolean advance() throws IOException {
+            return advance(own);
+        }
+
+        /**
+         * Reads the next result into the result given for its id.
+         *
+         * @param target the empty result to read a line of an id into
+         * @return false at the end of the file
+         */
+        boolean advance(Function<Ident, Result> target) throws IOException {
+            while (true) {
+                for (int i = position; i < buffer.limit(); i++) {
+                    if (buffer.get(i) == '\n') {
+                        final int start = position;
+                        position = i + 1;
+                        if (line(start, i, target)) return true;
+                    }
+                }
+                if (eof) {
+                    final int start = position;
+                    position = buffer.limit();
+                    return start < position && line(start, position, target);
+                }
+                buffer.position(position);
+                buffer.compact();
+                if (!buffer.hasRemaining()) {
+                    // A line longer than the buffer
+                    final ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    larger.put(buffer);
+                    buffer = larger;
+                }
+                eof = channel.read(buffer) < 0;
+                buffer.flip();
+                position = 0;
+            }
+        }
+
+        private boolean line(int start, int end, Function<Ident, Result> target) {
+            if (!reader.fields(buffer, start, end)) return false;
+            reader.statistics(target.apply(readResultId(reader.fields)));
+            return true;
+        }
+
+        private Result own(Ident resultId) {
+            if (result == null) {
+                result = detached(resultId);
+            } else {
+                result.reset(resultId);
+            }
+            return result;
+        }
+
+        /**
+         * @return the current result of {@link #advance()}
+         */
+        Result result() {
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens the file for reading its results one at a time, see {@link Cursor}.
+     */
+    public Cursor openResults() throws IOException {
+        return openResults(file);
+    }
+
+    /**
+     * Opens a file written with this result file's id hooks for reading its results one at a time, see
+     * {@link Cursor}.
+     */
+    public Cursor openResults(File from) throws IOException {
+        return new Cursor(from);
+    }
+
+    /**
+     * Streams the results of the file without reading them into the result file, in constant memory: a sequential
+     * stream over a {@link Cursor}, which reads a line as the stream pulls the next result. Like those of the cursor,
+     * the results are one reused result, so the stream must not be made parallel and results can't be collected
+     * without copying them; filter, update the statistics of (e.g. in a peek or map), summarize and write the results
+     * as they pass instead:
+     * <pre>
+     *     out.writeStream(in.streamResults()
+     *             .filter(r -&gt; r.hasStatistic(time))
+     *             .peek(r -&gt; r.setDouble(time, r.getDouble(time) / 1000)));
+     * </pre>
+     * Close the stream to close the file.
+     */
+    public Stream<Result> streamResults() throws IOException {
+        final Cursor cursor = openResults();
+        return StreamSupport.stream(new CursorSpliterator(cursor), false).onClose(() -> {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * A spliterator over a cursor that never splits, since every result it gives is the same reused result.
+     */
+    private final class CursorSpliterator implements Spliterator<Result> {
+        private final Cursor cursor;
+
+        CursorSpliterator(Cursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Result> action) {
+            if (!cursor.hasNext()) return false;
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<Result> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
     }
 
+    /**
+     * Hands every result of the file to an action, one at a time in constant memory, see {@link Cursor}.
+     */
+    public void forEachResult(Consumer<? super Result> action) throws IOException {
+        try (Cursor cursor = openResults()) {
+            while (cursor.advance()) {
+                action.accept(cursor.result());
+            }
+        }
+    }
+
+    /**
+     * Hands the results of the file to an action in batches, in constant memory. The batch and its results are
+     * reused: the rows of a batch share one table, which the next batch is read over, so an action keeping results
+     * must copy them. Every batch but the last holds batchSize results.
+     */
+    public void forEachBatch(int batchSize, Consumer<? super List<Result>> action) throws IOException {
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive");
+        final StatisticTable batchTable = new StatisticTable(batchSize);
+        final List<Result> slots = new ArrayList<>(batchSize);
+        final List<Result> batch = new ArrayList<>(batchSize);
+        final Function<Ident, Result> slot = resultId -> {
+            final int i = batch.size();
+            final Result r;
+            if (i < slots.size()) {
+                r = slots.get(i);
+                r.reset(resultId);
+            } else {
+                r = new Result(resultId, false, batchTable);
+                slots.add(r);
+            }
+            batch.add(r);
+            return r;
+        };
+        try (Cursor cursor = openResults()) {
+            while (cursor.advance(slot)) {
+                if (batch.size() == batchSize) {
+                    action.accept(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            action.accept(batch);
+        }
+    }
+
+    /**
+     * Writes results to the file one at a time, in constant memory, as the last stage of a stream over the results
+     * of this or another result file with the same ids; see {@link #streamResults()}. A result of another result
+     * file is written with the statistics of this one, matched by name, and those it doesn't have are written as
+     * missing. The results are written to a temporary file that replaces the file, and supersedes its journal, when
+     * the sink is closed; until then readers see the old file, and the file may be the one being streamed. A sink
+     * that fails part way is aborted instead, leaving the file as it was, see {@link #writeStream(Stream)}.
+     * <p>
+     * A sink is not thread safe.
+     */
+    public final class Sink implements Consumer<Result>, Closeable {
+        private final File temporary;
+        private final Writer out;
+        private final String header;
+        private final String separator = System.lineSeparator();
+        private final StringBuilder line = new StringBuilder(256);
+        private char[] chars = new char[256];
+        private ResultFile<Ident> source;
+        private int[] sourceColumns;
+        private Result copy;
+        private long count;
+        private boolean closed;
+
+        Sink() throws IOException {
+            temporary = new File(file.getPath() + ".writing");
+            header = headerLine();
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8),
+                    WRITE_BUFFER_SIZE);
+            try {
+                out.write(header);
+                out.write(separator);
+            } catch (IOException e) {
+                out.close();
+                temporary.delete();
+                throw e;
+            }
+        }
+
+        /**
+         * @throws UncheckedIOException if the line can't be written
+         */
+        @Override
+        public void accept(Result r) {
+            line.setLength(0);
+            ((r.owner() == ResultFile.this) ? r : copy(r)).appendTo(line);
+            if (line.length() > chars.length) {
+                chars = new char[Math.max(line.length(), 2 * chars.length)];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            try {
+                out.write(chars, 0, line.length());
+                out.write(separator);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+
+        private Result copy(Result r) {
+            final LineFormat format = lineFormat();
+            if (r.owner() != source) {
+                source = r.owner();
+                sourceColumns = new int[format.names.length];
+                for (int i = 0; i < sourceColumns.length; i++) {
+                    sourceColumns[i] = source.statisticIndex(format.names[i]);
+                }
+            }
+            if (copy == null) {
+                copy = detached(r.resultId);
+            } else {
+                copy.reset(r.resultId);
+            }
+            for (int i = 0; i < sourceColumns.length; i++) {
+                final int from = sourceColumns[i];
+                if (from < 0 || !r.hasStatistic(from)) continue;
+                if (isFloatingPoint(format.columns[i])) {
+                    copy.setDouble(format.columns[i], r.getDouble(from));
+                } else {
+                    copy.setLong(format.columns[i], r.getLong(from));
+                }
+            }
+            return copy;
+        }
+
+        /**
+         * @return the number of results written
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Stops writing and drops the results written, leaving the file as it was.
+         */
+        public void abort() {
+            if (closed) return;
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException ignored) {
+            }
+            temporary.delete();
+        }
+
+        /**
+         * Finishes writing and replaces the file with the results written.
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                out.close();
+            } catch (IOException e) {
+                temporary.delete();
+                throw e;
+            }
+            final IOException[] error = new IOException[1];
+            journal().replaceBase(header, () -> {
+                try {
+                    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) throw error[0];
+        }
+    }
+
+    /**
+     * Opens a sink writing results to the file, see {@link Sink}.
+     */
+    public Sink openSink() throws IOException {
+        return new Sink();
+    }
+
+    /**
+     * Rewrites the file with the results of a stream, in constant memory, through a {@link Sink}. The stream is
+     * consumed and closed. If it fails the file is left as it was.
+     *
+     * @return the number of results written
+     */
+    public long writeStream(Stream<Result> results) throws IOException {
+        try (Stream<Result> stream = results) {
+            final Sink sink = openSink();
+            try {
+                stream.forEach(sink);
+            } catch (RuntimeException e) {
+                sink.abort();
+                throw e;
+            }
+            sink.close();
+            return sink.count();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    String headerLine() {
+        StringBuilder line = new StringBuilder(printResultIdHeader());
+        formatMap.keySet().forEach((statName) -> line.append('\t').append(statName));
+        return line.toString();
+    }
+
+    /**
+     * Writes the header and a line per result, formatting every line into one reused buffer.
+     */
+    private void writeLines(Writer out, Collection<Result> lines) throws IOException {
+        final String separator = System.lineSeparator();
+        out.write(headerLine());
+        out.write(separator);
+        final StringBuilder line = new StringBuilder(256);
+        char[] chars = new char[256];
+        for (Result r : lines) {
+            line.setLength(0);
+            r.appendTo(line);
+            if (line.length() > chars.length) {
+                chars = new char[Math.max(line.length(), 2 * chars.length)];
+            }
+            line.getChars(0, line.length(), chars, 0);
+            out.write(chars, 0, line.length());
+            out.write(separator);
+        }
+    }
+
+    /**
+     * Rewrites the whole file, which supersedes any journal written by {@link #appendResults()}. The file holds a
+     * snapshot of the results taken when the write starts; collectors carry on publishing while it is written. Like
+     * every result file, it is written in UTF-8 whatever the platform's default charset.
+     */
     public void writeResults() {
-        try (PrintStream fileOut = new PrintStream(file)) {
-            printHeaderLine(fileOut);
-            results.forEach(fileOut::println);
-        } catch (FileNotFoundException ignored) {
+        writeResults(null);
+    }
+
+    /**
+     * Rewrites the whole file like {@link #writeResults()}, with the results in id order, as {@link ResultMerge}
+     * expects of the files it merges.
+     *
+     * @param order the order of the ids, or null for no particular order
+     */
+    public void writeResults(Comparator<? super Ident> order) {
+        final ResultJournal journal = journal();
+        synchronized (journal) {
+            final List<Result> snapshot;
+            synchronized (lock) {
+                snapshot = new ArrayList<>(merged().values());
+                clearChanged();
+            }
+            if (order != null) {
+                snapshot.sort((a, b) -> order.compare(a.resultId, b.resultId));
+            }
+            try {
+                journal.replaceBase(headerLine(), () -> {
+                    try (Writer fileOut = new BufferedWriter(
+                            new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                        writeLines(fileOut, snapshot);
+                    } catch (IOException e) {
+                        Log.warn("Result File Write Error: %s", e.getMessage());
+                    }
+                });
+            } catch (IOException e) {
+                Log.warn("Result Journal Error: %s", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes only the results added or changed since the last write, appending them to a journal next to the file
+     * instead of rewriting it; results already in the file stay unless replaced. The journal is replayed by the read
+     * methods and folded back into the file by a background compaction once it outgrows the file. When the
+     * statistics differ from those the file was written with, this falls back to {@link #writeResults()}.
+     */
+    public void appendResults() {
+        final String header = headerLine();
+        final ResultJournal journal = journal();
+        try {
+            synchronized (journal) {
+                if (!header.equals(journal.header())) {
+                    writeResults();
+                    return;
+                }
+                final List<String> lines;
+                synchronized (lock) {
+                    merged();
+                    lines = new ArrayList<>(changed.size());
+                    changed.forEach(r -> lines.add(r.toString()));
+                    clearChanged();
+                }
+                journal.append(header, lines);
+                if (journal.shouldCompact()) {
+                    journal.compact();
+                }
+            }
+        } catch (IOException e) {
+            Log.warn("Result Journal Write Error: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts folding the journal back into the file in the background.
+     *
+     * @return the running compaction, to wait for it
+     */
+    public Future<?> compactJournal() {
+        return journal().compact();
+    }
+
+    /**
+     * Writes the results in a columnar binary form: a header describing the format of every statistic, then one
+     * block of primitive values per statistic, delta or dictionary encoded when that is smaller. It is a fraction of
+     * the size of the text form and loads without parsing, see {@link #readColumns(File)}.
+     */
+    public void writeColumns(File columnFile) {
+        try {
+            ResultColumns.write(this, columnFile);
+        } catch (IOException e) {
+            Log.warn("Result Column File Write Error: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Converts the text file of this result file into a column file.
+     */
+    public void convertToColumns(File columnFile) {
+        readResults();
+        writeColumns(columnFile);
+    }
+
+    /**
+     * Converts a column file into the text file of this result file.
+     */
+    public void convertFromColumns(File columnFile) {
+        readColumns(columnFile);
+        writeResults();
+    }
+
+    /**
+     * @return the statistic formats recorded in the header of a column file, in column order
+     */
+    public static Map<String, ResultStatisticFormat> columnFormats(File columnFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(columnFile.toPath(), StandardOpenOption.READ)) {
+            return ResultColumns.formats(channel);
         }
     }
 
@@ -141,7 +1294,14 @@ public abstract class ResultFile<Ident> {
 
     public abstract String printResultIdHeader();
 
-    public abstract Ident readResultId(Scanner in);
+    /**
+     * Reads the id at the start of a result line, leaving the fields on the first statistic. Subclasses written
+     * against a {@link Scanner} can extend {@link ScannerResultFile} instead.
+     */
+    public abstract Ident readResultId(ResultFields in);
 
-    public abstract boolean validResultIdHeader(Scanner in);
+    /**
+     * Checks the id columns at the start of the header line, leaving the fields on the first statistic name.
+     */
+    public abstract boolean validResultIdHeader(ResultFields in);
 }
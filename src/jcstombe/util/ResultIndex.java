@@ -0,0 +1,196 @@
+package jcstombe.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Sorted indexes over the results of a {@link ResultFile}, for range and top-k queries: {@link ById} orders results
+ * by id and {@link ByStatistic} by the value of one statistic. (Lookups of a single id are already hashed, see
+ * {@link ResultFile#getResult(Object)}.) An index is a snapshot of the results when it was built; results added later
+ * or statistics changed later are not reflected. Queries return streams over the index, which can be made parallel.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class ResultIndex {
+
+    private ResultIndex() {
+    }
+
+    public static final class ById<Ident> {
+        private final List<ResultFile<Ident>.Result> sorted;
+        private final Comparator<? super Ident> order;
+
+        ById(Collection<ResultFile<Ident>.Result> results, Comparator<? super Ident> order) {
+            this.order = order;
+            sorted = new ArrayList<>(results);
+            sorted.sort((a, b) -> order.compare(a.getResultId(), b.getResultId()));
+        }
+
+        public int size() {
+            return sorted.size();
+        }
+
+        public Stream<ResultFile<Ident>.Result> stream() {
+            return sorted.stream();
+        }
+
+        /**
+         * @param from lowest id (inclusive), or null for no lower bound
+         * @param to   highest id (inclusive), or null for no upper bound
+         * @return the results in the range, in id order
+         */
+        public Stream<ResultFile<Ident>.Result> range(Ident from, Ident to) {
+            final int lo = (from == null) ? 0 : search(from, false);
+            final int hi = (to == null) ? sorted.size() : search(to, true);
+            return (lo < hi) ? sorted.subList(lo, hi).stream() : Stream.empty();
+        }
+
+        /**
+         * @return the k results with the lowest ids, in id order
+         */
+        public List<ResultFile<Ident>.Result> first(int k) {
+            return Collections.unmodifiableList(sorted.subList(0, Math.min(k, sorted.size())));
+        }
+
+        /**
+         * @return the k results with the highest ids, in id order
+         */
+        public List<ResultFile<Ident>.Result> last(int k) {
+            return Collections.unmodifiableList(sorted.subList(Math.max(0, sorted.size() - k), sorted.size()));
+        }
+
+        /**
+         * @return the index of the first result with an id above (after) or at least (!after) the given id
+         */
+        private int search(Ident id, boolean after) {
+            int lo = 0;
+            int hi = sorted.size();
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                final int c = order.compare(sorted.get(mid).getResultId(), id);
+                if (c < 0 || (after && c == 0)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    public static final class ByStatistic<Ident> {
+        private final List<ResultFile<Ident>.Result> sorted;
+        private final double[] keys;
+
+        /**
+         * Indexes the results holding the statistic in the given column.
+         */
+        ByStatistic(Collection<ResultFile<Ident>.Result> results, int column) {
+            sorted = new ArrayList<>(results.size());
+            for (ResultFile<Ident>.Result r : results) {
+                if (r.hasStatistic(column)) {
+                    sorted.add(r);
+                }
+            }
+            sorted.sort(Comparator.comparingDouble(r -> r.getDouble(column)));
+            keys = new double[sorted.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = sorted.get(i).getDouble(column);
+            }
+        }
+
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * @return the results from the lowest value to the highest
+         */
+        public Stream<ResultFile<Ident>.Result> stream() {
+            return sorted.stream();
+        }
+
+        /**
+         * @return the results with a value in [from, to], from the lowest value to the highest
+         */
+        public Stream<ResultFile<Ident>.Result> range(double from, double to) {
+            final int lo = search(from, false);
+            final int hi = search(to, true);
+            return (lo < hi) ? sorted.subList(lo, hi).stream() : Stream.empty();
+        }
+
+        /**
+         * @return the k results with the highest values, highest first
+         */
+        public List<ResultFile<Ident>.Result> top(int k) {
+            final List<ResultFile<Ident>.Result> top =
+                    new ArrayList<>(sorted.subList(Math.max(0, sorted.size() - k), sorted.size()));
+            Collections.reverse(top);
+            return Collections.unmodifiableList(top);
+        }
+
+        /**
+         * @return the k results with the lowest values, lowest first
+         */
+        public List<ResultFile<Ident>.Result> bottom(int k) {
+            return Collections.unmodifiableList(sorted.subList(0, Math.min(k, sorted.size())));
+        }
+
+        /**
+         * @return the exact value at a quantile in [0, 1] (nearest rank), or NaN if the index is empty
+         */
+        public double quantile(double q) {
+            if (keys.length == 0) return Double.NaN;
+            final int rank = (int) Math.ceil(q * keys.length);
+            return keys[Math.min(keys.length - 1, Math.max(0, rank - 1))];
+        }
+
+        private int search(double key, boolean after) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                final int c = Double.compare(keys[mid], key);
+                if (c < 0 || (after && c == 0)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Single pass top-k over a (possibly parallel) stream: every part of the stream keeps a heap of at most k results
+     * and the heaps are merged, so nothing else is collected.
+     *
+     * @return the k results with the highest values of the statistic in the given column, highest first
+     */
+    static <Ident> List<ResultFile<Ident>.Result> top(Stream<ResultFile<Ident>.Result> results, int column, int k) {
+        final Comparator<ResultFile<Ident>.Result> byValue = Comparator.comparingDouble(r -> r.getDouble(column));
+        final PriorityQueue<ResultFile<Ident>.Result> heap = results
+                .filter(r -> r.hasStatistic(column))
+                .collect(() -> new PriorityQueue<>(byValue), (h, r) -> offer(h, r, k),
+                        (a, b) -> b.forEach(r -> offer(a, r, k)));
+        final List<ResultFile<Ident>.Result> top = new ArrayList<>(heap);
+        top.sort(byValue.reversed());
+        return top;
+    }
+
+    private static <T> void offer(PriorityQueue<T> heap, T value, int k) {
+        if (k <= 0) return;
+        if (heap.size() < k) {
+            heap.add(value);
+        } else if (heap.comparator().compare(value, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(value);
+        }
+    }
+}
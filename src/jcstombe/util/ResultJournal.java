@@ -0,0 +1,229 @@
+package jcstombe.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The append only journal of a {@link ResultFile}. New and changed results are appended as text lines to
+ * "name.journal" next to the base file, behind a header line of their own, and replayed over the base file when it is
+ * read; a later line of an id replaces the earlier one.
+ * <p>
+ * Compaction runs on a background thread. It renames the journal to "name.journal.old", so appends carry on into a
+ * fresh journal, then streams the base file into a temporary file with the lines of the old journal folded in, and
+ * finally moves that file over the base file and deletes the old journal. Only the old journal is held in memory. A
+ * full rewrite of the base file in the meantime discards the compaction.
+ * <p>
+ * Every file operation other than the fold itself synchronizes on the journal, and so do reads of the result file, so
+ * they never see a half moved set of files.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class ResultJournal {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_COMPACT_SIZE = 1 << 20;
+    private static final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ResultFile-Compactor");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final File base;
+    private final File journal;
+    private final File old;
+    private final int idFields;
+    private String header;
+    private long generation;
+    private Future<?> compaction;
+
+    /**
+     * @param idFields the number of tab separated fields taken by a printed result id
+     */
+    ResultJournal(File base, int idFields) {
+        this.base = base;
+        this.journal = new File(base.getPath() + ".journal");
+        this.old = new File(base.getPath() + ".journal.old");
+        this.idFields = idFields;
+    }
+
+    File journal() {
+        return journal;
+    }
+
+    File old() {
+        return old;
+    }
+
+    /**
+     * @return the header line the journal is written under: that of the newest of the journal, the old journal and
+     * the base file, or null if there are none
+     */
+    synchronized String header() throws IOException {
+        if (header == null) {
+            for (File f : new File[]{journal, old, base}) {
+                if (f.exists()) {
+                    header = firstLine(f);
+                    break;
+                }
+            }
+        }
+        return header;
+    }
+
+    private static String firstLine(File f) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(f.toPath(), StandardCharsets.UTF_8)) {
+            return in.readLine();
+        }
+    }
+
+    /**
+     * Appends lines through a buffered channel, starting a new journal with the header line if there is none.
+     */
+    synchronized void append(String headerLine, Iterable<String> lines) throws IOException {
+        try (FileChannel out = FileChannel.open(journal.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            if (out.size() == 0) {
+                put(out, buffer, headerLine);
+            }
+            for (String line : lines) {
+                put(out, buffer, line);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+        header = headerLine;
+    }
+
+    private static void put(FileChannel out, ByteBuffer buffer, String line) throws IOException {
+        final byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+        if (bytes.length > buffer.capacity()) {
+            out.write(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Rewrites the base file and drops the journals, which it supersedes.
+     */
+    synchronized void replaceBase(String headerLine, Runnable write) throws IOException {
+        generation++;
+        write.run();
+        Files.deleteIfExists(journal.toPath());
+        Files.deleteIfExists(old.toPath());
+        header = headerLine;
+    }
+
+    /**
+     * @return whether the journal has grown past the base file (and a minimum size), so compaction is worth it
+     */
+    synchronized boolean shouldCompact() {
+        final long size = journal.length();
+        return size >= MIN_COMPACT_SIZE && size >= base.length()
+                && (compaction == null || compaction.isDone());
+    }
+
+    /**
+     * Starts compacting in the background, unless a compaction is running already.
+     *
+     * @return the running compaction
+     */
+    synchronized Future<?> compact() {
+        if (compaction != null && !compaction.isDone()) return compaction;
+        if (!old.exists()) {
+            if (!journal.exists()) return CompletableFuture.completedFuture(null);
+            if (!journal.renameTo(old)) {
+                Log.warn("Result Journal Error: Could not rotate %s", journal.getName());
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        final long started = generation;
+        compaction = compactor.submit(() -> fold(started));
+        return compaction;
+    }
+
+    private void fold(long started) {
+        final File folded = new File(base.getPath() + ".compacting");
+        try {
+            final Map<String, String> replaced = new LinkedHashMap<>();
+            final String headerLine;
+            try (BufferedReader in = Files.newBufferedReader(old.toPath(), StandardCharsets.UTF_8)) {
+                headerLine = in.readLine();
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    if (!line.isEmpty()) {
+                        replaced.put(key(line), line);
+                    }
+                }
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(folded.toPath(), StandardCharsets.UTF_8)) {
+                out.write(headerLine);
+                out.newLine();
+                if (base.exists()) {
+                    try (BufferedReader in = Files.newBufferedReader(base.toPath(), StandardCharsets.UTF_8)) {
+                        final String baseHeader = in.readLine();
+                        if (baseHeader != null && !baseHeader.equals(headerLine)) {
+                            throw new IOException("Journal header does not match " + base.getName());
+                        }
+                        for (String line = in.readLine(); line != null; line = in.readLine()) {
+                            final String replacement = line.isEmpty() ? null : replaced.remove(key(line));
+                            out.write((replacement == null) ? line : replacement);
+                            out.newLine();
+                        }
+                    }
+                }
+                for (String line : replaced.values()) {
+                    out.write(line);
+                    out.newLine();
+                }
+            }
+            synchronized (this) {
+                if (generation == started) {
+                    Files.move(folded.toPath(), base.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    Files.deleteIfExists(old.toPath());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.warn("Result Journal Compaction Error: %s", e.getMessage());
+        } finally {
+            folded.delete();
+        }
+    }
+
+    /**
+     * @return the printed id at the start of a line
+     */
+    private String key(String line) {
+        int end = -1;
+        for (int i = 0; i < idFields; i++) {
+            end = line.indexOf('\t', end + 1);
+            if (end < 0) return line;
+        }
+        return line.substring(0, end);
+    }
+}
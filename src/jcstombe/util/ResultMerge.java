@@ -0,0 +1,246 @@
+package jcstombe.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * Merging and sharding of result files too large to read into one {@link ResultFile}. Both stream their inputs a
+ * result at a time, so they run in the memory of a read buffer per file, whatever the size of the files.
+ * <p>
+ * {@link #merge} is a k-way merge of files sorted by id, as written by {@link ResultFile#writeResults(Comparator)}:
+ * it keeps the current result of every input in a heap and writes the lowest id next, handing the results of an id
+ * found in several inputs to a {@link Reconciler}. {@link #shard} splits a file into several by a function of the id,
+ * such as {@link #byHash(int)} or {@link #byRange(List, Comparator)}; a sorted file gives sorted shards, which merge
+ * back into it.
+ * <p>
+ * The files are read and written with the statistics and id hooks of a result file, which is otherwise left alone.
+ * Only the files themselves are read, not their journals; compact them first, see {@link ResultFile#compactJournal()}.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class ResultMerge {
+
+    private ResultMerge() {
+    }
+
+    /**
+     * Decides what is written for an id found in more than one input.
+     */
+    @FunctionalInterface
+    public interface Reconciler<Ident> {
+        /**
+         * @param duplicates the results of the id, in the order of the inputs; they are only valid during the call
+         * @param merged     an empty result of the id, to fill in and return when no duplicate will do
+         * @return the result to write, or null to write none
+         */
+        ResultFile<Ident>.Result reconcile(List<ResultFile<Ident>.Result> duplicates, ResultFile<Ident>.Result merged);
+    }
+
+    /**
+     * @return a reconciler keeping the result of the first input holding the id
+     */
+    public static <Ident> Reconciler<Ident> first() {
+        return (duplicates, merged) -> duplicates.get(0);
+    }
+
+    /**
+     * @return a reconciler keeping the result of the last input holding the id
+     */
+    public static <Ident> Reconciler<Ident> last() {
+        return (duplicates, merged) -> duplicates.get(duplicates.size() - 1);
+    }
+
+    /**
+     * @return a reconciler taking every statistic from the first input whose result has it
+     */
+    public static <Ident> Reconciler<Ident> fill() {
+        return (duplicates, merged) -> {
+            for (int i = duplicates.size() - 1; i >= 0; i--) {
+                merged.addStatistics(duplicates.get(i));
+            }
+            return merged;
+        };
+    }
+
+    /**
+     * @return a reconciler failing the merge on a duplicate id, for inputs that should be disjoint
+     */
+    public static <Ident> Reconciler<Ident> reject() {
+        return (duplicates, merged) -> {
+            throw new IllegalStateException("Duplicate result id: " + merged.getResultId());
+        };
+    }
+
+    /**
+     * Merges files sorted by id into one sorted output file.
+     *
+     * @param resultFile the statistics and id hooks of the files
+     * @param order      the order the inputs are sorted in
+     * @throws IOException if a file can't be read or written, or an input is not sorted
+     */
+    public static <Ident> void merge(ResultFile<Ident> resultFile, List<File> inputs, File output,
+                                     Comparator<? super Ident> order, Reconciler<Ident> reconciler) throws IOException {
+        Objects.requireNonNull(order, "Merge order cannot be null");
+        final List<Input<Ident>> opened = new ArrayList<>(inputs.size());
+        final PriorityQueue<Input<Ident>> heap = new PriorityQueue<>(Math.max(1, inputs.size()), (a, b) -> {
+            final int c = order.compare(a.cursor.result().getResultId(), b.cursor.result().getResultId());
+            return (c != 0) ? c : Integer.compare(a.index, b.index);
+        });
+        try (BufferedWriter out = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            for (File input : inputs) {
+                final Input<Ident> in = new Input<>(opened.size(), input, resultFile.openResults(input));
+                opened.add(in);
+                if (in.advance(order)) {
+                    heap.add(in);
+                }
+            }
+            out.write(resultFile.headerLine());
+            out.newLine();
+
+            final List<Input<Ident>> drawn = new ArrayList<>(inputs.size());
+            final List<ResultFile<Ident>.Result> duplicates = new ArrayList<>(inputs.size());
+            ResultFile<Ident>.Result merged = null;
+            while (!heap.isEmpty()) {
+                drawn.clear();
+                duplicates.clear();
+                do {
+                    final Input<Ident> in = heap.poll();
+                    drawn.add(in);
+                    duplicates.add(in.cursor.result());
+                } while (!heap.isEmpty() && order.compare(heap.peek().cursor.result().getResultId(),
+                        drawn.get(0).cursor.result().getResultId()) == 0);
+
+                ResultFile<Ident>.Result result = duplicates.get(0);
+                if (duplicates.size() > 1) {
+                    final Ident resultId = result.getResultId();
+                    if (merged == null) {
+                        merged = resultFile.detached(resultId);
+                    } else {
+                        merged.reset(resultId);
+                    }
+                    result = reconciler.reconcile(duplicates, merged);
+                }
+                if (result != null) {
+                    out.write(result.toString());
+                    out.newLine();
+                }
+                for (Input<Ident> in : drawn) {
+                    if (in.advance(order)) {
+                        heap.add(in);
+                    }
+                }
+            }
+        } finally {
+            for (Input<Ident> in : opened) {
+                in.cursor.close();
+            }
+        }
+    }
+
+    private static final class Input<Ident> {
+        final int index;
+        final File file;
+        final ResultFile<Ident>.Cursor cursor;
+        Ident last;
+
+        Input(int index, File file, ResultFile<Ident>.Cursor cursor) {
+            this.index = index;
+            this.file = file;
+            this.cursor = cursor;
+        }
+
+        /**
+         * @return whether there is another result, which must come after the previous one
+         */
+        boolean advance(Comparator<? super Ident> order) throws IOException {
+            if (!cursor.advance()) return false;
+            final Ident resultId = cursor.result().getResultId();
+            if (last != null && order.compare(last, resultId) >= 0) {
+                throw new IOException("Result file " + file.getName() + " is not sorted by id at " + resultId);
+            }
+            last = resultId;
+            return true;
+        }
+    }
+
+    /**
+     * Splits a file into shards, writing every result to the shard chosen for its id. The results of a shard keep
+     * their order in the input.
+     *
+     * @param shardOf the index in shards of the shard of an id
+     * @throws IOException if a file can't be read or written
+     */
+    public static <Ident> void shard(ResultFile<Ident> resultFile, File input, List<File> shards,
+                                     ToIntFunction<? super Ident> shardOf) throws IOException {
+        final String header = resultFile.headerLine();
+        final BufferedWriter[] outs = new BufferedWriter[shards.size()];
+        try (ResultFile<Ident>.Cursor cursor = resultFile.openResults(input)) {
+            for (int s = 0; s < outs.length; s++) {
+                outs[s] = Files.newBufferedWriter(shards.get(s).toPath(), StandardCharsets.UTF_8);
+                outs[s].write(header);
+                outs[s].newLine();
+            }
+            while (cursor.advance()) {
+                final ResultFile<Ident>.Result r = cursor.result();
+                final BufferedWriter out = outs[shardOf.applyAsInt(r.getResultId())];
+                out.write(r.toString());
+                out.newLine();
+            }
+        } finally {
+            IOException error = null;
+            for (BufferedWriter out : outs) {
+                if (out == null) continue;
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (error != null) throw error;
+        }
+    }
+
+    /**
+     * @return a shard function spreading ids evenly over a number of shards by their hash codes
+     */
+    public static <Ident> ToIntFunction<Ident> byHash(int shards) {
+        if (shards < 1) throw new IllegalArgumentException("Shard count must be positive");
+        return resultId -> (int) ((Hashing.hash(resultId.hashCode()) & 0xffffffffL) % shards);
+    }
+
+    /**
+     * @param bounds the lowest id of every shard but the first, in order; n bounds make n + 1 shards
+     * @return a shard function splitting ids into ranges
+     */
+    public static <Ident> ToIntFunction<Ident> byRange(List<? extends Ident> bounds, Comparator<? super Ident> order) {
+        final List<Ident> sorted = new ArrayList<>(bounds);
+        for (int i = 1; i < sorted.size(); i++) {
+            if (order.compare(sorted.get(i - 1), sorted.get(i)) >= 0) {
+                throw new IllegalArgumentException("Shard bounds must be in increasing order");
+            }
+        }
+        return resultId -> {
+            int lo = 0;
+            int hi = sorted.size();
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (order.compare(sorted.get(mid), resultId) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        };
+    }
+}
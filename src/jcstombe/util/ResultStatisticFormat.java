@@ -1,12 +1,15 @@
 package jcstombe.util;
 
 /**
+ * The printf style format of a statistic in a {@link ResultFile}. A format is compiled into a
+ * {@link StatisticFormatter} the first time results are written with it, and again after it changes.
+ *
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 07, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class ResultStatisticFormat {
 
-    private enum Flag {
+    public enum Flag {
         NONE('\0'),
         LEFT_JUSTIFY('-'),
         PLUS('+'),
@@ -57,10 +60,22 @@ public class ResultStatisticFormat {
         return new ResultStatisticFormat(false);
     }
 
+    /**
+     * Rebuilds a format from its parts, as stored by a column file.
+     */
+    static ResultStatisticFormat of(boolean floatingPoint, int width, int precision, int flags) {
+        ResultStatisticFormat format = new ResultStatisticFormat(floatingPoint);
+        format.width = width;
+        format.precision = precision;
+        format.flags = flags;
+        return format;
+    }
+
     private boolean floatingPoint;
     private int width;
     private int precision;
     private int flags;
+    private StatisticFormatter formatter;
 
     private ResultStatisticFormat(boolean isFloatingPoint) {
         floatingPoint = isFloatingPoint;
@@ -73,9 +88,32 @@ public class ResultStatisticFormat {
         return floatingPoint;
     }
 
+    int getWidth() {
+        return width;
+    }
+
+    int getPrecision() {
+        return precision;
+    }
+
+    int getFlags() {
+        return flags;
+    }
+
+    StatisticFormatter formatter() {
+        StatisticFormatter compiled = formatter;
+        if (compiled == null) {
+            compiled = formatter = new StatisticFormatter(formatString(), floatingPoint, width, precision,
+                    (flags & Flag.LEFT_JUSTIFY.mask()) != 0, (flags & Flag.PLUS.mask()) != 0,
+                    (flags & Flag.LEADING_SPACE.mask()) != 0, (flags & Flag.ZERO_PAD.mask()) != 0);
+        }
+        return compiled;
+    }
+
     public ResultStatisticFormat width(int w) {
         if (w > -1) {
             width = w;
+            formatter = null;
         }
         return this;
     }
@@ -83,6 +121,7 @@ public class ResultStatisticFormat {
     public ResultStatisticFormat precision(int p) {
         if (p > -1 && floatingPoint) {
             precision = p;
+            formatter = null;
         }
         return this;
     }
@@ -92,6 +131,7 @@ public class ResultStatisticFormat {
             if (width == -1 && (f == Flag.ZERO_PAD || f == Flag.LEFT_JUSTIFY)) continue;
             flags = f.and(flags);
         }
+        formatter = null;
         return this;
     }
 
@@ -0,0 +1,48 @@
+package jcstombe.util;
+
+import java.io.File;
+import java.util.Scanner;
+
+/**
+ * A {@link ResultFile} whose id hooks read from a {@link Scanner}, as result files did before they were read in place.
+ * The rest of each line is handed to the hooks as a String, so this costs a String and a Scanner per line that the
+ * {@link ResultFields} hooks of a plain ResultFile avoid; it is meant for ids that are awkward to read any other way.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public abstract class ScannerResultFile<Ident> extends ResultFile<Ident> {
+
+    public ScannerResultFile(File file) {
+        super(file);
+    }
+
+    /**
+     * Reads the id at the start of a result line; the Scanner is delimited by whitespace.
+     */
+    public abstract Ident readResultId(Scanner in);
+
+    /**
+     * Checks the id columns at the start of the header line; the Scanner is delimited by tabs.
+     */
+    public abstract boolean validResultIdHeader(Scanner in);
+
+    @Override
+    public final Ident readResultId(ResultFields in) {
+        final String rest = in.rest();
+        final Scanner lineIn = new Scanner(rest);
+        final Ident resultId = readResultId(lineIn);
+        in.consumed(lineIn, rest);
+        return resultId;
+    }
+
+    @Override
+    public final boolean validResultIdHeader(ResultFields in) {
+        final String rest = in.rest();
+        final Scanner lineIn = new Scanner(rest);
+        lineIn.useDelimiter("\t");
+        final boolean valid = validResultIdHeader(lineIn);
+        in.consumed(lineIn, rest);
+        return valid;
+    }
+}
@@ -0,0 +1,243 @@
+package jcstombe.util;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hierarchical timing spans. Each thread keeps a stack of open spans; closing a span adds its elapsed time to the
+ * matching node of that thread's call tree, so time spent in "loadUser" inside "handleRequest" is attributed to the
+ * path handleRequest;loadUser. Span objects are pooled on the thread's stack and tree nodes are only created the first
+ * time a path is seen, so timing a hot path allocates nothing.
+ * <pre>
+ *     try (SpanProfiler.Span span = SpanProfiler.begin("handleRequest")) {
+ *         ...
+ *     }
+ * </pre>
+ * The trees of all threads are merged on export, either as an indented call tree or in the collapsed stack format used
+ * by flame graph tools. Counts read from threads that are still running may be slightly behind.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class SpanProfiler {
+
+    public static final class Span implements AutoCloseable {
+        private final ThreadTree owner;
+        private Node node;
+        private long start;
+
+        private Span(ThreadTree owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (owner != null) {
+                owner.close(this);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Node parent;
+        private Node[] children;
+        private int childCount;
+        private long count;
+        private long totalNanos;
+        private long childNanos;
+
+        Node(String name, Node parent) {
+            this.name = name;
+            this.parent = parent;
+            children = new Node[2];
+        }
+
+        Node child(String childName) {
+            for (int i = 0; i < childCount; i++) {
+                final Node c = children[i];
+                if (c.name == childName || c.name.equals(childName)) return c;
+            }
+            if (childCount == children.length) {
+                final Node[] grown = new Node[childCount * 2];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            final Node c = new Node(childName, this);
+            children[childCount] = c;
+            childCount++;
+            return c;
+        }
+
+        void add(Node other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            childNanos += other.childNanos;
+            // The other tree may still be growing on its own thread, so read its children defensively
+            final Node[] kids = other.children;
+            final int n = Math.min(other.childCount, kids.length);
+            for (int i = 0; i < n; i++) {
+                if (kids[i] != null) {
+                    child(kids[i].name).add(kids[i]);
+                }
+            }
+        }
+
+        long selfNanos() {
+            return totalNanos - childNanos;
+        }
+    }
+
+    private static final class ThreadTree {
+        private final Thread thread;
+        private final Node root;
+        private Span[] stack;
+        private int depth;
+        private Node current;
+
+        ThreadTree(Thread thread) {
+            this.thread = thread;
+            root = new Node("", null);
+            stack = new Span[16];
+            current = root;
+        }
+
+        Span open(String name) {
+            if (depth == stack.length) {
+                final Span[] grown = new Span[depth * 2];
+                System.arraycopy(stack, 0, grown, 0, depth);
+                stack = grown;
+            }
+            Span span = stack[depth];
+            if (span == null) {
+                span = new Span(this);
+                stack[depth] = span;
+            }
+            depth++;
+            current = current.child(name);
+            span.node = current;
+            span.start = System.nanoTime();
+            return span;
+        }
+
+        /**
+         * Closes the innermost open span. Closing any other span, e.g. one closed already or one with spans still
+         * open inside it, is ignored with a warning. (A span object is reused once closed, so a stale reference to
+         * the innermost span can't be told apart from it.)
+         */
+        void close(Span span) {
+            final long end = System.nanoTime();
+            if (depth == 0 || stack[depth - 1] != span) {
+                Log.warn("SpanProfiler: Ignored closing a span that is not the innermost open span");
+                return;
+            }
+            depth--;
+            final long elapsed = end - span.start;
+            span.node.count++;
+            span.node.totalNanos += elapsed;
+            span.node.parent.childNanos += elapsed;
+            current = span.node.parent;
+        }
+
+        void reset() {
+            root.children = new Node[2];
+            root.childCount = 0;
+            root.childNanos = 0;
+        }
+    }
+
+    private static final Span DISABLED = new Span(null);
+    private static final Queue<ThreadTree> trees = new ConcurrentLinkedQueue<>();
+    private static final Node retired = new Node("", null);
+    private static final ThreadLocal<ThreadTree> local = ThreadLocal.withInitial(() -> {
+        final ThreadTree tree = new ThreadTree(Thread.currentThread());
+        trees.add(tree);
+        return tree;
+    });
+
+    public static Span begin(String name) {
+        if (!LogTimer.isTiming()) return DISABLED;
+        return local.get().open(name);
+    }
+
+    /**
+     * Discards everything recorded so far. Spans that are open while this runs are dropped from the tree.
+     */
+    public static synchronized void reset() {
+        retired.children = new Node[2];
+        retired.childCount = 0;
+        for (ThreadTree tree : trees) {
+            tree.reset();
+        }
+    }
+
+    private static synchronized Node merged() {
+        final Node merged = new Node("", null);
+        merged.add(retired);
+        for (Iterator<ThreadTree> it = trees.iterator(); it.hasNext(); ) {
+            final ThreadTree tree = it.next();
+            if (tree.thread.isAlive()) {
+                merged.add(tree.root);
+            } else {
+                // Fold finished threads into the retired tree so their ThreadTrees can be collected
+                retired.add(tree.root);
+                merged.add(tree.root);
+                it.remove();
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * @return one "a;b;c selfNanoseconds" line per call path, the input format of flame graph tools
+     */
+    public static List<String> collapsedStacks() {
+        final List<String> lines = new ArrayList<>();
+        final Node root = merged();
+        for (int i = 0; i < root.childCount; i++) {
+            collapse(root.children[i], new StringBuilder(), lines);
+        }
+        return lines;
+    }
+
+    private static void collapse(Node node, StringBuilder path, List<String> lines) {
+        final int mark = path.length();
+        if (mark > 0) path.append(';');
+        path.append(node.name);
+        if (node.selfNanos() > 0) {
+            lines.add(path + " " + node.selfNanos());
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collapse(node.children[i], path, lines);
+        }
+        path.setLength(mark);
+    }
+
+    public static void writeCollapsedStacks(PrintStream out) {
+        collapsedStacks().forEach(out::println);
+    }
+
+    /**
+     * @return the merged call tree, one indented line per node with its call count, total time and share of its root
+     */
+    public static String callTree() {
+        final StringBuilder out = new StringBuilder();
+        final Node root = merged();
+        for (int i = 0; i < root.childCount; i++) {
+            callTree(root.children[i], root.children[i].totalNanos, "", out);
+        }
+        return out.toString();
+    }
+
+    private static void callTree(Node node, long rootNanos, String indent, StringBuilder out) {
+        out.append(String.format("%s%s {%d calls, %.3f ms, %.1f%%}%n", indent, node.name, node.count,
+                node.totalNanos / 1e6, (rootNanos == 0) ? 0 : 100.0 * node.totalNanos / rootNanos));
+        for (int i = 0; i < node.childCount; i++) {
+            callTree(node.children[i], rootNanos, indent + "  ", out);
+        }
+    }
+}
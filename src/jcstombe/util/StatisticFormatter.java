@@ -0,0 +1,190 @@
+package jcstombe.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+
+/**
+ * A {@link ResultStatisticFormat} compiled once into a formatter that appends the digits of a value straight into a
+ * StringBuilder, instead of parsing the format string and running a {@link java.util.Formatter} for every value. The
+ * output is that of String.format with the format string, character for character.
+ * <p>
+ * Integers are always formatted directly. A floating point value is formatted directly when it is finite, below
+ * 10^15 once scaled by the precision, and not within a few ulps of halfway between two outputs; String.format rounds
+ * the shortest decimal form of a double half up rather than the double itself, and only near halfway can the two
+ * differ. Other values, and every value while the default format locale uses digits other than ASCII or a decimal
+ * separator other than '.', go through String.format. A format String.format rejects, such as a precision on an
+ * integer, is reported by {@link #isLegal()}.
+ * <p>
+ * A formatter holds no state of its own once compiled and may be used from several threads.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class StatisticFormatter {
+
+    private static final int DEFAULT_PRECISION = 6;
+    private static final double MAX_SCALED = 1e15;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /**
+     * The default format locale last checked, and whether it formats numbers as ASCII digits with a '.'.
+     */
+    private static final class PlainLocale {
+        final Locale locale;
+        final boolean plain;
+
+        PlainLocale(Locale locale) {
+            this.locale = locale;
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            plain = symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.';
+        }
+    }
+
+    private static volatile PlainLocale plainLocale = new PlainLocale(Locale.getDefault(Locale.Category.FORMAT));
+
+    private final String formatString;
+    private final boolean legal;
+    private final int width;
+    private final int precision;
+    private final boolean leftJustify;
+    private final boolean zeroPad;
+    // The character in front of a positive value, or 0 for none
+    private final char positiveSign;
+
+    StatisticFormatter(String formatString, boolean floatingPoint, int width, int precision, boolean leftJustify,
+                       boolean plus, boolean leadingSpace, boolean zeroPad) {
+        this.formatString = formatString;
+        this.width = width;
+        this.precision = (precision < 0) ? DEFAULT_PRECISION : precision;
+        this.leftJustify = leftJustify;
+        this.zeroPad = zeroPad;
+        positiveSign = plus ? '+' : leadingSpace ? ' ' : 0;
+        boolean legal = true;
+        try {
+            String.format(formatString, floatingPoint ? (Object) 0.0 : (Object) 0L);
+        } catch (IllegalFormatException e) {
+            legal = false;
+        }
+        this.legal = legal;
+    }
+
+    /**
+     * @return whether String.format accepts the format; an illegal format must not be used to format values
+     */
+    boolean isLegal() {
+        return legal;
+    }
+
+    private static boolean plainLocale() {
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        PlainLocale checked = plainLocale;
+        if (checked.locale != locale) {
+            checked = plainLocale = new PlainLocale(locale);
+        }
+        return checked.plain;
+    }
+
+    void format(long value, StringBuilder out) {
+        if (value == Long.MIN_VALUE || !plainLocale()) {
+            out.append(String.format(formatString, value));
+            return;
+        }
+        final boolean negative = value < 0;
+        final long magnitude = negative ? -value : value;
+        final int digits = digits(magnitude);
+        final int start = pad(out, negative, digits);
+        appendDigits(out, magnitude, digits);
+        justify(out, start);
+    }
+
+    void format(double value, StringBuilder out) {
+        final double magnitude = Math.abs(value);
+        final double scaled = magnitude * POWERS_OF_TEN[Math.min(precision, POWERS_OF_TEN.length - 1)];
+        if (precision >= POWERS_OF_TEN.length || !(scaled < MAX_SCALED) || !plainLocale()) {
+            out.append(String.format(formatString, value));
+            return;
+        }
+        long rounded = (long) scaled;
+        final double fraction = scaled - rounded;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            out.append(String.format(formatString, value));
+            return;
+        }
+        if (fraction > 0.5) {
+            rounded++;
+        }
+        final long unit = POWERS_OF_TEN[precision];
+        final long integer = rounded / unit;
+        final int integerDigits = digits(integer);
+        final int length = integerDigits + ((precision > 0) ? 1 + precision : 0);
+        // The sign of -0.0, and of negative values rounding to zero, is kept
+        final int start = pad(out, Double.doubleToRawLongBits(value) < 0, length);
+        appendDigits(out, integer, integerDigits);
+        if (precision > 0) {
+            out.append('.');
+            appendDigits(out, rounded - integer * unit, precision);
+        }
+        justify(out, start);
+    }
+
+    /**
+     * Appends the sign and whatever padding goes in front of it or between it and the digits.
+     *
+     * @return the start of the value in out
+     */
+    private int pad(StringBuilder out, boolean negative, int digits) {
+        final int start = out.length();
+        final char sign = negative ? '-' : positiveSign;
+        final int padding = width - digits - ((sign != 0) ? 1 : 0);
+        if (padding > 0 && !leftJustify && !zeroPad) {
+            append(out, ' ', padding);
+        }
+        if (sign != 0) {
+            out.append(sign);
+        }
+        if (padding > 0 && zeroPad) {
+            append(out, '0', padding);
+        }
+        return start;
+    }
+
+    private void justify(StringBuilder out, int start) {
+        if (leftJustify) {
+            append(out, ' ', width - (out.length() - start));
+        }
+    }
+
+    private static void append(StringBuilder out, char c, int count) {
+        for (int i = 0; i < count; i++) {
+            out.append(c);
+        }
+    }
+
+    private static int digits(long magnitude) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * Appends a non-negative value as exactly the given number of digits, with leading zeros.
+     */
+    private static void appendDigits(StringBuilder out, long value, int digits) {
+        final int end = out.length() + digits;
+        out.setLength(end);
+        for (int i = end - 1; i >= end - digits; i--) {
+            out.setCharAt(i, (char) ('0' + value % 10));
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package jcstombe.util;
+
+import java.util.Arrays;
+
+/**
+ * The statistics of a set of {@link ResultFile.Result}s, stored as one primitive array per statistic (struct of
+ * arrays) instead of a map of boxed numbers per result. A result is a row; a statistic is a column, interned when it
+ * is registered with the result file. Integer columns hold longs and floating point columns hold doubles; a bitmap per
+ * column records which rows hold a value. Column arrays are allocated when a column is first written and grow with
+ * the rows.
+ * <p>
+ * A table is not thread safe. A parallel read gives each chunk a table of its own, and the results keep pointing into
+ * it after the merge.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+final class StatisticTable {
+
+    private static final int MIN_ROWS = 16;
+
+    private int rows;
+    private int capacity;
+    private long[][] longs;
+    private double[][] doubles;
+    private long[][] present;
+
+    StatisticTable() {
+        this(MIN_ROWS);
+    }
+
+    StatisticTable(int expectedRows) {
+        capacity = Math.max(MIN_ROWS, expectedRows);
+        longs = new long[0][];
+        doubles = new double[0][];
+        present = new long[0][];
+    }
+
+    /**
+     * @return the index of a new, empty row
+     */
+    int addRow() {
+        if (rows == capacity) {
+            capacity = capacity + (capacity >> 1);
+            for (int c = 0; c < present.length; c++) {
+                if (longs[c] != null) longs[c] = Arrays.copyOf(longs[c], capacity);
+                if (doubles[c] != null) doubles[c] = Arrays.copyOf(doubles[c], capacity);
+                if (present[c] != null) present[c] = Arrays.copyOf(present[c], words(capacity));
+            }
+        }
+        return rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private void column(int column) {
+        if (column >= present.length) {
+            final int columns = Math.max(column + 1, present.length * 2);
+            longs = Arrays.copyOf(longs, columns);
+            doubles = Arrays.copyOf(doubles, columns);
+            present = Arrays.copyOf(present, columns);
+        }
+        if (present[column] == null) {
+            present[column] = new long[words(capacity)];
+        }
+    }
+
+    boolean has(int row, int column) {
+        return column < present.length && present[column] != null
+                && (present[column][row >>> 6] & (1L << row)) != 0;
+    }
+
+    long getLong(int row, int column) {
+        return has(row, column) && longs[column] != null ? longs[column][row] : 0;
+    }
+
+    double getDouble(int row, int column) {
+        return has(row, column) && doubles[column] != null ? doubles[column][row] : 0;
+    }
+
+    void setLong(int row, int column, long value) {
+        column(column);
+        if (longs[column] == null) {
+            longs[column] = new long[capacity];
+        }
+        longs[column][row] = value;
+        present[column][row >>> 6] |= 1L << row;
+    }
+
+    void setDouble(int row, int column, double value) {
+        column(column);
+        if (doubles[column] == null) {
+            doubles[column] = new double[capacity];
+        }
+        doubles[column][row] = value;
+        present[column][row >>> 6] |= 1L << row;
+    }
+
+    void clear(int row, int column) {
+        if (column < present.length && present[column] != null) {
+            present[column][row >>> 6] &= ~(1L << row);
+        }
+    }
+
+    void clearRow(int row) {
+        for (int c = 0; c < present.length; c++) {
+            clear(row, c);
+        }
+    }
+}
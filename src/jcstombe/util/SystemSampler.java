@@ -0,0 +1,264 @@
+package jcstombe.util;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodically samples memory, GC, allocation, thread, safepoint, buffer pool and CPU figures from the platform
+ * MXBeans. The most recent samples are kept in a fixed size ring and each new sample is handed to the registered
+ * sinks, e.g. {@link #LOG_SINK}. Nothing runs between samples; the sampler thread sleeps until the next interval.
+ * <p>
+ * Safepoint figures come from the HotSpot internal runtime bean, which on Java 9+ is only reachable when the JVM is
+ * started with {@code --add-exports java.management/sun.management=ALL-UNNAMED}. Figures that the running JVM does not
+ * provide are reported as -1.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class SystemSampler {
+
+    public static final Consumer<Sample> LOG_SINK = sample -> Log.system("%s", sample);
+
+    public static class Sample {
+        public final long timeMillis;
+        public final long intervalNanos;
+        public final long heapUsed, heapCommitted, heapMax, nonHeapUsed;
+        public final long gcCount, gcTimeMillis;
+        public final long allocatedBytes;
+        public final int threadCount, daemonThreadCount, peakThreadCount;
+        public final long safepointCount, safepointTimeMillis;
+        public final long directBufferCount, directBufferBytes, mappedBufferBytes;
+        public final double processCpuLoad, systemCpuLoad;
+
+        private final long nanoTime;
+        private final long totalGcCount, totalGcTimeMillis;
+        private final long totalSafepointCount, totalSafepointTimeMillis;
+
+        private Sample(SystemSampler sampler, Sample previous) {
+            timeMillis = System.currentTimeMillis();
+            nanoTime = System.nanoTime();
+            intervalNanos = (previous == null) ? 0 : nanoTime - previous.nanoTime;
+
+            final MemoryUsage heap = sampler.memory.getHeapMemoryUsage();
+            heapUsed = heap.getUsed();
+            heapCommitted = heap.getCommitted();
+            heapMax = heap.getMax();
+            nonHeapUsed = sampler.memory.getNonHeapMemoryUsage().getUsed();
+
+            long count = 0, time = 0;
+            for (GarbageCollectorMXBean gc : sampler.collectors) {
+                count += Math.max(0, gc.getCollectionCount());
+                time += Math.max(0, gc.getCollectionTime());
+            }
+            totalGcCount = count;
+            totalGcTimeMillis = time;
+            gcCount = count - ((previous == null) ? 0 : previous.totalGcCount);
+            gcTimeMillis = time - ((previous == null) ? 0 : previous.totalGcTimeMillis);
+
+            allocatedBytes = sampler.allocatedSinceLastSample();
+            threadCount = sampler.threads.getThreadCount();
+            daemonThreadCount = sampler.threads.getDaemonThreadCount();
+            peakThreadCount = sampler.threads.getPeakThreadCount();
+
+            totalSafepointCount = sampler.hotspotRuntime(sampler.safepointCountGetter);
+            totalSafepointTimeMillis = sampler.hotspotRuntime(sampler.safepointTimeGetter);
+            safepointCount = delta(totalSafepointCount, (previous == null) ? 0 : previous.totalSafepointCount);
+            safepointTimeMillis = delta(totalSafepointTimeMillis, (previous == null) ? 0 : previous.totalSafepointTimeMillis);
+
+            long direct = -1, directBytes = -1, mappedBytes = -1;
+            for (BufferPoolMXBean pool : sampler.bufferPools) {
+                if (pool.getName().equals("direct")) {
+                    direct = pool.getCount();
+                    directBytes = pool.getMemoryUsed();
+                } else if (pool.getName().equals("mapped")) {
+                    mappedBytes = pool.getMemoryUsed();
+                }
+            }
+            directBufferCount = direct;
+            directBufferBytes = directBytes;
+            mappedBufferBytes = mappedBytes;
+
+            if (sampler.os instanceof com.sun.management.OperatingSystemMXBean) {
+                final com.sun.management.OperatingSystemMXBean os = (com.sun.management.OperatingSystemMXBean) sampler.os;
+                processCpuLoad = os.getProcessCpuLoad();
+                systemCpuLoad = os.getSystemCpuLoad();
+            } else {
+                processCpuLoad = -1;
+                systemCpuLoad = -1;
+            }
+        }
+
+        private static long delta(long total, long previousTotal) {
+            return (total < 0) ? -1 : total - Math.max(0, previousTotal);
+        }
+
+        /**
+         * @return bytes allocated per second over the interval, or -1 when unknown
+         */
+        public double allocationRate() {
+            if (allocatedBytes < 0 || intervalNanos <= 0) return -1;
+            return allocatedBytes / (intervalNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Memory Usage: %d Used | %d Committed | %d Max | %d Non-Heap"
+                            + " | GC: %d (%d ms) | Allocated: %d (%.0f/s) | Threads: %d (%d daemon, %d peak)"
+                            + " | Safepoints: %d (%d ms) | Direct: %d (%d bytes) | Mapped: %d bytes | CPU: %.1f%% (%.1f%% system)",
+                    heapUsed, heapCommitted, heapMax, nonHeapUsed, gcCount, gcTimeMillis, allocatedBytes,
+                    allocationRate(), threadCount, daemonThreadCount, peakThreadCount, safepointCount,
+                    safepointTimeMillis, directBufferCount, directBufferBytes, mappedBufferBytes,
+                    processCpuLoad * 100, systemCpuLoad * 100);
+        }
+    }
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+    private final Object hotspotRuntime = loadHotspotRuntime();
+    private final Method safepointCountGetter = hotspotRuntimeMethod("getSafepointCount");
+    private final Method safepointTimeGetter = hotspotRuntimeMethod("getTotalSafepointTime");
+
+    private final long interval;
+    private final TimeUnit unit;
+    private final Sample[] ring;
+    private final List<Consumer<Sample>> sinks;
+    private Map<Long, Long> threadAllocations;
+    private int next, size;
+    private ScheduledExecutorService scheduler;
+
+    public SystemSampler(long interval, TimeUnit unit, int capacity) {
+        if (interval < 1) throw new IllegalArgumentException("SystemSampler interval must be positive");
+        if (capacity < 1) throw new IllegalArgumentException("SystemSampler capacity must be positive");
+        this.interval = interval;
+        this.unit = unit;
+        ring = new Sample[capacity];
+        sinks = new CopyOnWriteArrayList<>();
+        threadAllocations = new HashMap<>();
+    }
+
+    public SystemSampler addSink(Consumer<Sample> sink) {
+        if (sink != null) {
+            sinks.add(sink);
+        }
+        return this;
+    }
+
+    public boolean removeSink(Consumer<Sample> sink) {
+        return sinks.remove(sink);
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Log-SystemSampler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::sample, interval, interval, unit);
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) return;
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Takes a sample immediately, stores it in the ring and hands it to the sinks.
+     */
+    public Sample sample() {
+        final Sample sample;
+        synchronized (this) {
+            sample = new Sample(this, latest());
+            ring[next] = sample;
+            next = (next + 1) % ring.length;
+            size = Math.min(size + 1, ring.length);
+        }
+        for (Consumer<Sample> sink : sinks) {
+            sink.accept(sample);
+        }
+        return sample;
+    }
+
+    public synchronized Sample latest() {
+        return (size == 0) ? null : ring[(next + ring.length - 1) % ring.length];
+    }
+
+    /**
+     * @return the samples in the ring, oldest first
+     */
+    public synchronized List<Sample> history() {
+        final List<Sample> samples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            samples.add(ring[(next - size + i + ring.length) % ring.length]);
+        }
+        return samples;
+    }
+
+    // ---------- MXBean helpers -------------------------- //
+    private long allocatedSinceLastSample() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+        final com.sun.management.ThreadMXBean t = (com.sun.management.ThreadMXBean) threads;
+        if (!t.isThreadAllocatedMemorySupported() || !t.isThreadAllocatedMemoryEnabled()) return -1;
+        final long[] ids = t.getAllThreadIds();
+        final long[] allocated = t.getThreadAllocatedBytes(ids);
+        final Map<Long, Long> current = new HashMap<>(ids.length * 2);
+        long total = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] < 0) continue;
+            final Long before = threadAllocations.get(ids[i]);
+            total += allocated[i] - ((before == null) ? 0 : before);
+            current.put(ids[i], allocated[i]);
+        }
+        threadAllocations = current;
+        return total;
+    }
+
+    private static Object loadHotspotRuntime() {
+        try {
+            final Class<?> helper = Class.forName("sun.management.ManagementFactoryHelper");
+            return helper.getMethod("getHotspotRuntimeMBean").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Method hotspotRuntimeMethod(String getter) {
+        try {
+            return Class.forName("sun.management.HotspotRuntimeMBean").getMethod(getter);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private long hotspotRuntime(Method getter) {
+        if (hotspotRuntime == null || getter == null) return -1;
+        try {
+            return ((Number) getter.invoke(hotspotRuntime)).longValue();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package jcstombe.util;
+
+/**
+ * A destination for elapsed times measured by a {@link LogTimer}.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public interface TimeRecorder {
+
+    void record(long nanos);
+}
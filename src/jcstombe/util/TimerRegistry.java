@@ -0,0 +1,191 @@
+package jcstombe.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A global registry of named timers for operations too frequent to log one line each. Recording a time only updates
+ * the count/sum/min/max cell of the recording thread; a reporter thread periodically logs one compact line per active
+ * timer with the rate, mean and max over the interval, then starts the next interval. Each cell is swapped out as one
+ * unit, so every recorded time counts wholly towards one interval and the mean and rate stay exact under load.
+ * <pre>
+ *     private static final TimerRegistry.Timer LOOKUP = TimerRegistry.timer("lookup");
+ *     ...
+ *     new LogTimer("lookup").stop(LOOKUP);
+ * </pre>
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class TimerRegistry {
+
+    public static class Timer implements TimeRecorder {
+        private final String name;
+        private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Cell> local = ThreadLocal.withInitial(() -> {
+            final Cell cell = new Cell(Thread.currentThread());
+            cells.add(cell);
+            return cell;
+        });
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void record(long nanos) {
+            local.get().record(nanos);
+        }
+
+        /**
+         * @return the figures recorded since the previous interval, which starts a new interval
+         */
+        public synchronized Interval interval(long intervalNanos) {
+            final long[] totals = {0, 0, Long.MAX_VALUE, Long.MIN_VALUE};
+            for (Iterator<Cell> it = cells.iterator(); it.hasNext(); ) {
+                final Cell cell = it.next();
+                cell.drainTo(totals);
+                // A finished thread records nothing more, so its drained cell can go
+                if (!cell.thread.isAlive()) {
+                    it.remove();
+                }
+            }
+            return new Interval(name, intervalNanos, totals[0], totals[1], totals[2], totals[3]);
+        }
+    }
+
+    /**
+     * The figures of one thread for the current interval. Only its own thread records into it, so its lock is
+     * uncontended except while an interval is taken; it makes every record fall wholly into one interval.
+     */
+    private static final class Cell {
+        private final Thread thread;
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        Cell(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void record(long nanos) {
+            count++;
+            sum += nanos;
+            if (nanos < min) min = nanos;
+            if (nanos > max) max = nanos;
+        }
+
+        /**
+         * Adds the figures to totals {count, sum, min, max} and starts a new interval.
+         */
+        synchronized void drainTo(long[] totals) {
+            totals[0] += count;
+            totals[1] += sum;
+            totals[2] = Math.min(totals[2], min);
+            totals[3] = Math.max(totals[3], max);
+            count = 0;
+            sum = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+        }
+    }
+
+    public static class Interval {
+        public final String name;
+        public final long intervalNanos;
+        public final long count;
+        public final long sumNanos;
+        public final long minNanos;
+        public final long maxNanos;
+
+        private Interval(String name, long intervalNanos, long count, long sumNanos, long minNanos, long maxNanos) {
+            this.name = name;
+            this.intervalNanos = intervalNanos;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.minNanos = (count == 0) ? 0 : minNanos;
+            this.maxNanos = (count == 0) ? 0 : maxNanos;
+        }
+
+        public double rate() {
+            return (intervalNanos <= 0) ? 0 : count / (intervalNanos / 1e9);
+        }
+
+        public double meanNanos() {
+            return (count == 0) ? 0 : (double) sumNanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s {n=%d, rate=%.1f/s, mean=%.3f ms, min=%.3f ms, max=%.3f ms}",
+                    name, count, rate(), meanNanos() / 1e6, minNanos / 1e6, maxNanos / 1e6);
+        }
+    }
+
+    private static final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reporter;
+    private static long lastReport = System.nanoTime();
+
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public static Collection<Timer> timers() {
+        return Collections.unmodifiableCollection(timers.values());
+    }
+
+    public synchronized static void startReporting(long interval, TimeUnit unit) {
+        if (reporter != null) return;
+        reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Log-TimerReporter");
+            t.setDaemon(true);
+            return t;
+        });
+        lastReport = System.nanoTime();
+        reporter.scheduleAtFixedRate(TimerRegistry::report, interval, interval, unit);
+    }
+
+    public synchronized static void stopReporting() {
+        if (reporter == null) return;
+        reporter.shutdown();
+        reporter = null;
+    }
+
+    /**
+     * Closes the current interval of every timer and returns the figures of those that recorded anything.
+     */
+    public synchronized static List<Interval> intervals() {
+        final long now = System.nanoTime();
+        final long elapsed = now - lastReport;
+        lastReport = now;
+        final List<Interval> intervals = new ArrayList<>();
+        for (Timer timer : timers.values()) {
+            final Interval interval = timer.interval(elapsed);
+            if (interval.count > 0) {
+                intervals.add(interval);
+            }
+        }
+        return intervals;
+    }
+
+    public static void report() {
+        for (Interval interval : intervals()) {
+            Log.time("%s", interval);
+        }
+    }
+}
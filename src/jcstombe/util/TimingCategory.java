@@ -0,0 +1,90 @@
+package jcstombe.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A named on/off switch for timing. The state is held as the constant target of a call site; switching a category
+ * replaces the target, deoptimizes code that folded the old one and publishes the change to all threads at once.
+ * <p>
+ * The JIT only folds the target into compiled code when it is invoked through a handle held in a static final field,
+ * as {@link LogTimer} does for {@link #DEFAULT} through {@link #dynamicInvoker()}: a check of the disabled default
+ * category compiles down to nothing. {@link #isEnabled()}, which checks any other category, reads and invokes the
+ * current target, with no volatile read but no folding either; code that needs its own category folded can hold
+ * that category's dynamicInvoker() in a static final field the same way.
+ * <pre>
+ *     private static final TimingCategory DB = TimingCategory.get("db");
+ *     ...
+ *     LogTimer timer = new LogTimer(DB, "query");
+ * </pre>
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public final class TimingCategory extends MutableCallSite {
+
+    private static final MethodHandle ENABLED = MethodHandles.constant(boolean.class, true);
+    private static final MethodHandle DISABLED = MethodHandles.constant(boolean.class, false);
+    private static final ConcurrentMap<String, TimingCategory> categories = new ConcurrentHashMap<>();
+
+    /**
+     * The category of timers created without one, switched by {@link LogTimer#enableTiming()} and
+     * {@link LogTimer#disableTiming()}.
+     */
+    public static final TimingCategory DEFAULT = get("default");
+
+    public static TimingCategory get(String name) {
+        return categories.computeIfAbsent(name, TimingCategory::new);
+    }
+
+    public static void enableAll() {
+        categories.values().forEach(TimingCategory::enable);
+    }
+
+    public static void disableAll() {
+        categories.values().forEach(TimingCategory::disable);
+    }
+
+    private final String name;
+
+    private TimingCategory(String name) {
+        super(MethodType.methodType(boolean.class));
+        this.name = name;
+        setTarget(ENABLED);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        try {
+            return (boolean) getTarget().invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    public void enable() {
+        set(ENABLED);
+    }
+
+    public void disable() {
+        set(DISABLED);
+    }
+
+    private synchronized void set(MethodHandle state) {
+        if (getTarget() == state) return;
+        setTarget(state);
+        syncAll(new MutableCallSite[]{this});
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s {%s}", name, isEnabled() ? "enabled" : "disabled");
+    }
+}
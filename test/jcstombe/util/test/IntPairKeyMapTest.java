@@ -0,0 +1,61 @@
+package jcstombe.util.test;
+
+import jcstombe.util.IntPair;
+import jcstombe.util.IntPairKeyMap;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class IntPairKeyMapTest {
+
+    @Test
+    public void testPutGet() {
+        IntPairKeyMap<String> map = new IntPairKeyMap<>();
+        assertNull(map.put(-1, Integer.MAX_VALUE, "x"));
+        assertEquals("x", map.get(-1, Integer.MAX_VALUE));
+        assertNull(map.get(Integer.MAX_VALUE, -1));
+        map.put(0, 0, null);
+        assertTrue(map.containsKey(0, 0));
+        assertEquals("none", map.getOrDefault(1, 1, "none"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        IntPairKeyMap<Integer> map = new IntPairKeyMap<>(4);
+        Map<IntPair, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int a = random.nextInt(64) - 32, b = random.nextInt(64) - 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(new IntPair(a, b)), map.remove(a, b));
+            } else {
+                assertEquals(expected.put(new IntPair(a, b), i), map.put(a, b, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<IntPair, Integer> entries = new HashMap<>();
+        for (Map.Entry<IntPair, Integer> e : map.entries()) {
+            entries.put(e.getKey(), e.getValue());
+        }
+        assertEquals(expected, entries);
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testForEach() {
+        IntPairKeyMap<Integer> map = new IntPairKeyMap<>();
+        map.put(1, 2, 3);
+        map.put(-4, 5, 1);
+        map.forEach((a, b, v) -> assertEquals(a + b, v.intValue()));
+    }
+}
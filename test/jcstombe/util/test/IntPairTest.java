@@ -0,0 +1,56 @@
+package jcstombe.util.test;
+
+import jcstombe.util.IntPair;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class IntPairTest {
+
+    @Test
+    public void testPack() {
+        int[] values = {0, 1, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 12345};
+        for (int a : values) {
+            for (int b : values) {
+                long packed = IntPair.pack(a, b);
+                assertEquals(a, IntPair.first(packed));
+                assertEquals(b, IntPair.second(packed));
+                assertEquals(new IntPair(a, b), IntPair.unpack(packed));
+                assertEquals(packed, new IntPair(a, b).pack());
+            }
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        assertEquals(new IntPair(1, 2), new IntPair(1, 2));
+        assertNotEquals(new IntPair(1, 2), new IntPair(2, 1));
+        assertNotEquals(new IntPair(1, 2), null);
+        assertNotEquals(new IntPair(1, 2), "(1, 2)");
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(new IntPair(1, 2).hashCode(), IntPair.hash(IntPair.pack(1, 2)));
+        Set<Integer> hashes = new HashSet<>();
+        for (int a = 0; a < 100; a++) {
+            for (int b = 0; b < 100; b++) {
+                hashes.add(new IntPair(a, b).hashCode() & 0xFFFF);
+            }
+        }
+        // Small grid coordinates should spread over the low bits used by hash tables
+        assertTrue(hashes.size() > 8000);
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("(1, -2)", new IntPair(1, -2).toString());
+    }
+}
@@ -0,0 +1,68 @@
+package jcstombe.util.test;
+
+import jcstombe.util.LatencyHistogram;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testRecord() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 100000; v++) {
+            h.record(v * 1000);
+        }
+        assertEquals(100000, h.getCount());
+        assertEquals(50000500.0, h.getMean(), 1);
+        assertEquals(1000, h.getMin(), 10);
+        assertEquals(50000000, h.getValueAtPercentile(50), 50000000 / 100);
+        assertEquals(99000000, h.getValueAtPercentile(99), 99000000 / 100);
+        assertEquals(99900000, h.getValueAtPercentile(99.9), 99900000 / 100);
+        assertEquals(100000000, h.getMax(), 100000000 / 100);
+    }
+
+    @Test
+    public void testExactSmallValues() {
+        LatencyHistogram h = new LatencyHistogram(1000, 7);
+        h.record(0);
+        h.record(5);
+        h.record(255);
+        assertEquals(0, h.getMin());
+        assertEquals(5, h.getValueAtPercentile(50));
+        assertEquals(255, h.getMax());
+    }
+
+    @Test
+    public void testClampToMax() {
+        LatencyHistogram h = new LatencyHistogram(1000, 4);
+        h.record(1000000);
+        assertEquals(1, h.getCount());
+        assertEquals(1000, h.getMax());
+    }
+
+    @Test
+    public void testAddAndSubtract() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        b.record(20);
+        b.record(30);
+        LatencyHistogram merged = a.copy();
+        merged.add(b);
+        assertEquals(3, merged.getCount());
+        assertEquals(20.0, merged.getMean(), 0);
+        merged.subtract(a);
+        assertEquals(2, merged.getCount());
+        assertEquals(20, merged.getMin());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLayoutMismatch() {
+        new LatencyHistogram(1000, 4).add(new LatencyHistogram(1000, 5));
+    }
+}
@@ -0,0 +1,50 @@
+package jcstombe.util.test;
+
+import jcstombe.util.LatencyRecorder;
+import jcstombe.util.LogTimer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LatencyRecorderTest {
+
+    @Test
+    public void testGet() {
+        assertSame(LatencyRecorder.get("LatencyRecorderTest"), LatencyRecorder.get("LatencyRecorderTest"));
+        assertTrue(LatencyRecorder.all().contains(LatencyRecorder.get("LatencyRecorderTest")));
+    }
+
+    @Test
+    public void testStop() {
+        LatencyRecorder recorder = new LatencyRecorder("stop");
+        LogTimer timer = new LogTimer("stop");
+        long nanos = timer.stop(recorder);
+        assertEquals(1, recorder.snapshot().getCount());
+        assertTrue(recorder.snapshot().getMax() >= nanos * 99 / 100);
+    }
+
+    @Test
+    public void testIntervalSnapshot() {
+        LatencyRecorder recorder = new LatencyRecorder("interval");
+        recorder.record(1000);
+        recorder.record(2000);
+        assertEquals(2, recorder.intervalSnapshot().getCount());
+        recorder.record(3000);
+        assertEquals(1, recorder.intervalSnapshot().getCount());
+        assertEquals(0, recorder.intervalSnapshot().getCount());
+        assertEquals(3, recorder.snapshot().getCount());
+    }
+
+    @Test
+    public void testToString() {
+        LatencyRecorder recorder = new LatencyRecorder("report");
+        recorder.record(1000000);
+        // Percentiles report the highest value in the bucket, within 1% of the recorded value
+        assertEquals("report {count=1, mean=1.000 ms, p50=1.004 ms, p99=1.004 ms, p99.9=1.004 ms, max=1.004 ms}",
+                recorder.toString());
+    }
+}
@@ -0,0 +1,68 @@
+package jcstombe.util.test;
+
+import jcstombe.util.Log;
+import jcstombe.util.LogContext;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LogContextTest {
+
+    @Test
+    public void testEmpty() {
+        assertTrue(LogContext.current().isEmpty());
+        assertEquals("", LogContext.empty().toString());
+    }
+
+    @Test
+    public void testWith() {
+        LogContext context = LogContext.empty().with("request", "42").with("tenant", "acme");
+        assertEquals("42", context.get("request"));
+        assertEquals("acme", context.get("tenant"));
+        assertNull(context.get("user"));
+        assertEquals("[request=42][tenant=acme]", context.toString());
+    }
+
+    @Test
+    public void testRun() {
+        LogContext context = LogContext.where("request", "42");
+        context.run(() -> {
+            assertSame(context, LogContext.current());
+            LogContext.where("tenant", "acme").run(() -> assertEquals("42", LogContext.current().get("request")));
+            assertSame(context, LogContext.current());
+        });
+        assertTrue(LogContext.current().isEmpty());
+    }
+
+    @Test
+    public void testWrap() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LogContext context = LogContext.where("request", "42");
+            assertEquals("42", executor.submit(context.wrap(() -> LogContext.current().get("request"))).get());
+            assertNull(executor.submit(() -> LogContext.current().get("request")).get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLogOutput() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes);
+        Log.addLoggingOutput(stream);
+        LogContext.where("request", "42").run(() -> Log.warn("in context"));
+        Log.flushAll();
+        Log.removeLoggingOutput(stream);
+        assertTrue(bytes.toString().contains("][request=42] in context"));
+    }
+}
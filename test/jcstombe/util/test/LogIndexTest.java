@@ -0,0 +1,88 @@
+package jcstombe.util.test;
+
+import jcstombe.util.Log;
+import jcstombe.util.LogIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LogIndexTest {
+
+    private static final String[] LEVELS = {"CRITICAL", "ERROR", "WARN", "INFO", "DETAIL"};
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        // One line per second from 14:00:00, cycling through the levels
+        file = File.createTempFile("LogIndexTest", ".log");
+        try (PrintStream out = new PrintStream(file)) {
+            for (int i = 0; i < 3600; i++) {
+                String level = LEVELS[i % LEVELS.length];
+                out.printf("[%s][20180507 14:%02d:%02d.000] event %d with some padding to fill blocks faster%n",
+                        level, i / 60, i % 60, i);
+                if (i % 100 == 0) {
+                    out.printf("[20180507 14:%02d:%02d.000] Stack Trace%n\tat somewhere%n", i / 60, i % 60);
+                }
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    @Test
+    public void testQueryByVerbosity() throws IOException {
+        try (LogIndex index = new LogIndex(file)) {
+            assertTrue(index.blockCount() > 1);
+            List<String> lines = index.query(Log.Verbosity.MINIMAL, null, null);
+            assertEquals(3600 * 2 / LEVELS.length, lines.size());
+            assertTrue(lines.get(0).startsWith("[CRITICAL]"));
+            assertTrue(lines.get(1).startsWith("[ERROR]"));
+        }
+    }
+
+    @Test
+    public void testQueryByTime() throws IOException {
+        try (LogIndex index = new LogIndex(file)) {
+            LocalDateTime from = LocalDateTime.of(2018, 5, 7, 14, 2);
+            LocalDateTime to = LocalDateTime.of(2018, 5, 7, 14, 5);
+            List<String> lines = index.query(Log.S_FILTER, from, to);
+            assertEquals(181 * 3 / LEVELS.length + 1, lines.size());
+            assertTrue(lines.get(0).contains("event 120 "));
+            assertTrue(lines.get(lines.size() - 1).contains("event 300 "));
+        }
+    }
+
+    @Test
+    public void testCustomFilter() throws IOException {
+        try (LogIndex index = new LogIndex(file)) {
+            assertEquals(36, index.count(s -> s.contains("Stack Trace"), null, null));
+            assertEquals(36, index.count(s -> s.startsWith("\tat"), null, null));
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        File empty = File.createTempFile("LogIndexTest", ".log");
+        try (LogIndex index = new LogIndex(empty)) {
+            assertEquals(0, index.count(Log.VV_FILTER, null, null));
+        } finally {
+            empty.delete();
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package jcstombe.util.test;
 
+import jcstombe.util.Log;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.*;
 
 /**
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 08, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class LogTest {
 
@@ -22,6 +29,13 @@ public class LogTest {
 
     @Test
     public void testAddLoggingOutput() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes);
+        Log.addLoggingOutput(stream);
+        Log.warn("added %d", 1);
+        Log.flushAll();
+        assertTrue(bytes.toString().contains("] added 1"));
+        assertTrue(Log.removeLoggingOutput(stream));
     }
 
     @Test
@@ -50,10 +64,90 @@ public class LogTest {
 
     @Test
     public void testRemoveLoggingOutput() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes);
+        Log.addLoggingOutput(stream);
+        assertTrue(Log.removeLoggingOutput(stream));
+        assertFalse(Log.removeLoggingOutput(stream));
+        Log.warn("after removal");
+        Log.flushAll();
+        assertEquals("", bytes.toString());
     }
 
     @Test
     public void testFlushAll() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(bytes);
+        Log.addLoggingOutput(stream, 100000);
+        for (int i = 0; i < 10000; i++) {
+            Log.warn("event %d", i);
+        }
+        Log.flushAll();
+        String[] lines = bytes.toString().split(System.lineSeparator());
+        assertEquals(10000, lines.length);
+        assertTrue(lines[9999].endsWith("event 9999"));
+        Log.removeLoggingOutput(stream);
+    }
+
+    /**
+     * An output whose writes block until it is released, like a stalled pipe or network share.
+     */
+    private static class StalledStream extends ByteArrayOutputStream {
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            await();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            await();
+            super.write(b);
+        }
+
+        private void await() {
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    public void testStalledOutput() throws Exception {
+        StalledStream stalledBytes = new StalledStream();
+        PrintStream stalled = new PrintStream(stalledBytes);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream healthy = new PrintStream(bytes);
+        Log.addLoggingOutput(stalled, 10);
+        Log.addLoggingOutput(healthy, 100000);
+        try {
+            long droppedBefore = Log.getDroppedEventCount();
+            long start = System.nanoTime();
+            for (int i = 0; i < 1000; i++) {
+                Log.warn("stalled %d", i);
+            }
+            // Logging neither waits for the stalled output nor stops the other one
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!bytes.toString().contains("] stalled 999") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(bytes.toString().contains("] stalled 999"));
+            // At most the queue, a batch in hand and the event being written get through
+            assertTrue(Log.getDroppedEventCount() - droppedBefore >= 900);
+        } finally {
+            stalledBytes.released.countDown();
+            Log.removeLoggingOutput(stalled);
+            Log.removeLoggingOutput(healthy);
+        }
+        // The drop report is formatted like every other line
+        String[] lines = stalledBytes.toString().split(System.lineSeparator());
+        assertTrue(Arrays.stream(lines).anyMatch(l -> l.matches(
+                "\\[WARN\\]\\[\\d{8} \\d{2}:\\d{2}:\\d{2}\\.\\d{3}\\] Log output fell behind, \\d+ events dropped")));
     }
 
     @Test
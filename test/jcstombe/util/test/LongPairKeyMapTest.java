@@ -0,0 +1,61 @@
+package jcstombe.util.test;
+
+import jcstombe.util.LongPair;
+import jcstombe.util.LongPairKeyMap;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class LongPairKeyMapTest {
+
+    @Test
+    public void testPutGet() {
+        LongPairKeyMap<String> map = new LongPairKeyMap<>();
+        assertNull(map.put(-1, Long.MAX_VALUE, "x"));
+        assertEquals("x", map.get(-1, Long.MAX_VALUE));
+        assertNull(map.get(Long.MAX_VALUE, -1));
+        map.put(0, 0, null);
+        assertTrue(map.containsKey(0, 0));
+        assertEquals("none", map.getOrDefault(1, 1, "none"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        LongPairKeyMap<Integer> map = new LongPairKeyMap<>(4);
+        Map<LongPair, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long a = (random.nextInt(64) - 32) * (1L << 40), b = random.nextInt(64) - 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(new LongPair(a, b)), map.remove(a, b));
+            } else {
+                assertEquals(expected.put(new LongPair(a, b), i), map.put(a, b, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<LongPair, Integer> entries = new HashMap<>();
+        for (Map.Entry<LongPair, Integer> e : map.entries()) {
+            entries.put(e.getKey(), e.getValue());
+        }
+        assertEquals(expected, entries);
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testForEach() {
+        LongPairKeyMap<Integer> map = new LongPairKeyMap<>();
+        map.put(1, 2, 3);
+        map.put(-4, 5, 1);
+        map.forEach((a, b, v) -> assertEquals(a + b, v.longValue()));
+    }
+}
@@ -0,0 +1,76 @@
+package jcstombe.util.test;
+
+import jcstombe.util.MicroBenchmark;
+import jcstombe.util.ResultFile;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class MicroBenchmarkTest {
+
+    private static MicroBenchmark quick() {
+        return new MicroBenchmark().warmupIterations(2).iterations(8).iterationTime(5, TimeUnit.MILLISECONDS).logging(false);
+    }
+
+    private static double work(int n) {
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += Math.sqrt(i);
+        }
+        return sum;
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        MicroBenchmark.Measurement m = quick().run("sqrt", () -> work(100));
+        assertEquals(8, m.samples.length + m.outliers);
+        assertTrue(m.operations > 0);
+        assertTrue(m.mean > 0);
+        assertTrue(m.min() <= m.mean && m.mean <= m.max());
+        assertTrue(m.error >= 0);
+        assertTrue(m.toString().startsWith("sqrt {"));
+    }
+
+    @Test
+    public void testOperations() throws Exception {
+        MicroBenchmark.Measurement m = quick().operations(1000).run("fixed", () -> work(10));
+        assertEquals(1000, m.operations);
+    }
+
+    @Test
+    public void testCompareTo() throws Exception {
+        MicroBenchmark bench = quick();
+        MicroBenchmark.Measurement fast = bench.run("fast", () -> work(10));
+        MicroBenchmark.Measurement slow = bench.run("slow", () -> work(10000));
+        MicroBenchmark.Comparison c = fast.compareTo(slow);
+        assertTrue(c.ratio() > 10);
+        assertTrue(c.isSignificant());
+        assertTrue(c.toString().startsWith("slow is "));
+        assertTrue(c.toString().contains("slower than fast"));
+    }
+
+    @Test
+    public void testResultFile() throws Exception {
+        File file = File.createTempFile("MicroBenchmarkTest", ".tsv");
+        try {
+            ResultFile<String> results = MicroBenchmark.resultFile(file);
+            quick().run("sqrt 100", () -> work(100)).addTo(results);
+            results.writeResults();
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).startsWith("benchmark\t"));
+            assertTrue(lines.get(1).startsWith("sqrt_100\t"));
+        } finally {
+            file.delete();
+        }
+    }
+}
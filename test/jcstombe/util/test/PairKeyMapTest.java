@@ -0,0 +1,102 @@
+package jcstombe.util.test;
+
+import jcstombe.util.Pair;
+import jcstombe.util.PairKeyMap;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class PairKeyMapTest {
+
+    @Test
+    public void testPutGet() {
+        PairKeyMap<String, Integer, String> map = new PairKeyMap<>();
+        assertNull(map.put("a", 1, "a1"));
+        assertEquals("a1", map.put("a", 1, "A1"));
+        map.put("a", 2, "a2");
+        assertEquals("A1", map.get("a", 1));
+        assertEquals("a2", map.get("a", 2));
+        assertNull(map.get("b", 1));
+        assertEquals("none", map.getOrDefault("b", 1, "none"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testNulls() {
+        PairKeyMap<String, String, String> map = new PairKeyMap<>();
+        map.put(null, null, "both");
+        map.put("a", null, null);
+        assertEquals("both", map.get(null, null));
+        assertTrue(map.containsKey("a", null));
+        assertNull(map.get("a", null));
+        assertNull(map.getOrDefault("a", null, "none"));
+        assertFalse(map.containsKey(null, "a"));
+        assertEquals("both", map.remove(null, null));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testRemove() {
+        PairKeyMap<Integer, Integer, Integer> map = new PairKeyMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(Integer.valueOf(i), map.remove(i, i));
+        }
+        assertNull(map.remove(0, 0));
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals((i % 2 == 0) ? null : Integer.valueOf(i), map.get(i, i));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1, 1));
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(42);
+        PairKeyMap<Integer, Integer, Integer> map = new PairKeyMap<>();
+        Map<Pair<Integer, Integer>, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int a = random.nextInt(64), b = random.nextInt(64);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(new Pair<>(a, b)), map.remove(a, b));
+            } else {
+                assertEquals(expected.put(new Pair<>(a, b), i), map.put(a, b, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Pair<Integer, Integer>, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey().first, e.getKey().second));
+        }
+    }
+
+    @Test
+    public void testEntries() {
+        PairKeyMap<String, Integer, String> map = new PairKeyMap<>();
+        map.put("a", 1, "a1");
+        map.put("b", 2, "b2");
+        Map<Pair<String, Integer>, String> entries = new HashMap<>();
+        for (Map.Entry<Pair<String, Integer>, String> e : map.entries()) {
+            entries.put(e.getKey(), e.getValue());
+        }
+        assertEquals(2, entries.size());
+        assertEquals("b2", entries.get(new Pair<>("b", 2)));
+        int[] count = new int[1];
+        map.forEach((k1, k2, v) -> {
+            assertEquals(k1 + k2, v);
+            count[0]++;
+        });
+        assertEquals(2, count[0]);
+    }
+}
@@ -34,6 +34,30 @@ public class PairTest {
         assertNotEquals(thing1, thing2);
     }
 
+    @Test
+    public void testEqualsNull() {
+        Pair<String, String> thing1 = new Pair<>(null, "World");
+        Pair<String, String> thing2 = new Pair<>(null, "World");
+        Pair<String, String> thing3 = new Pair<>("Hello", null);
+        assertEquals(thing1, thing2);
+        assertNotEquals(thing1, thing3);
+        assertNotEquals(thing3, thing1);
+    }
+
+    @Test
+    public void testHashCodeNull() {
+        Pair<String, String> thing1 = new Pair<>(null, null);
+        Pair<String, String> thing2 = new Pair<>(null, null);
+        assertEquals(thing1.hashCode(), thing2.hashCode());
+    }
+
+    @Test
+    public void testHashCodeSwapped() {
+        Pair<Integer, Integer> thing1 = new Pair<>(1, 2);
+        Pair<Integer, Integer> thing2 = new Pair<>(2, 1);
+        assertNotEquals(thing1.hashCode(), thing2.hashCode());
+    }
+
     @Test
     public void testHashCode1() {
         Pair<String, String> thing1 = new Pair<>("Hello", "World");
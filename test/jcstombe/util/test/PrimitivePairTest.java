@@ -0,0 +1,50 @@
+package jcstombe.util.test;
+
+import jcstombe.util.IntDoublePair;
+import jcstombe.util.IntLongPair;
+import jcstombe.util.LongDoublePair;
+import jcstombe.util.LongPair;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the primitive pairs without packed helpers.
+ *
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class PrimitivePairTest {
+
+    @Test
+    public void testLongPair() {
+        assertEquals(new LongPair(1L << 40, 2), new LongPair(1L << 40, 2));
+        assertEquals(new LongPair(1L << 40, 2).hashCode(), new LongPair(1L << 40, 2).hashCode());
+        assertNotEquals(new LongPair(1, 2), new LongPair(2, 1));
+        assertNotEquals(new LongPair(1, 2).hashCode(), new LongPair(2, 1).hashCode());
+        assertNotEquals(new LongPair(1, 2), null);
+    }
+
+    @Test
+    public void testIntLongPair() {
+        assertEquals(new IntLongPair(1, 2), new IntLongPair(1, 2));
+        assertEquals(new IntLongPair(1, 2).hashCode(), new IntLongPair(1, 2).hashCode());
+        assertNotEquals(new IntLongPair(1, 2), new IntLongPair(1, 3));
+        assertNotEquals(new IntLongPair(1, 2), new LongPair(1, 2));
+    }
+
+    @Test
+    public void testLongDoublePair() {
+        assertEquals(new LongDoublePair(1, 0.5), new LongDoublePair(1, 0.5));
+        assertEquals(new LongDoublePair(1, Double.NaN), new LongDoublePair(1, Double.NaN));
+        assertNotEquals(new LongDoublePair(1, 0.0), new LongDoublePair(1, -0.0));
+        assertEquals(new LongDoublePair(1, 0.5).hashCode(), new LongDoublePair(1, 0.5).hashCode());
+    }
+
+    @Test
+    public void testIntDoublePair() {
+        assertEquals(new IntDoublePair(1, 0.5), new IntDoublePair(1, 0.5));
+        assertNotEquals(new IntDoublePair(1, 0.5), new IntDoublePair(1, 0.25));
+        assertEquals("(1, 0.5)", new IntDoublePair(1, 0.5).toString());
+    }
+}
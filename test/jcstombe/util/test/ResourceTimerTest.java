@@ -0,0 +1,62 @@
+package jcstombe.util.test;
+
+import jcstombe.util.ResourceTimer;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class ResourceTimerTest {
+
+    private static final long USER_TICK_TOLERANCE = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static byte[][] garbage;
+
+    @Test
+    public void testGetCpuNanoseconds() {
+        ResourceTimer timer = new ResourceTimer("cpu");
+        long end = System.nanoTime() + 20000000;
+        while (System.nanoTime() < end) {
+            Math.sqrt(end);
+        }
+        long user = timer.getUserNanoseconds();
+        long cpu = timer.getCpuNanoseconds();
+        assertTrue(cpu == -1 || cpu > 0);
+        // User time is counted in scheduler ticks, so it may run up to a tick ahead of the CPU time at either end
+        assertTrue(user == -1 || cpu == -1 || (user >= 0 && user <= cpu + USER_TICK_TOLERANCE));
+    }
+
+    @Test
+    public void testGetAllocatedBytes() {
+        ResourceTimer timer = new ResourceTimer("allocated");
+        garbage = new byte[16][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1 << 16];
+        }
+        long allocated = timer.getAllocatedBytes();
+        assertTrue(allocated == -1 || allocated >= 16 << 16);
+    }
+
+    @Test
+    public void testOtherThread() throws InterruptedException {
+        ResourceTimer timer = new ResourceTimer("thread");
+        long[] allocated = new long[1];
+        Thread reader = new Thread(() -> allocated[0] = timer.getAllocatedBytes());
+        reader.start();
+        reader.join();
+        // Figures belong to the starting thread, not the reading one
+        assertTrue(allocated[0] >= -1 && allocated[0] < 1 << 20);
+    }
+
+    @Test
+    public void testToString() {
+        ResourceTimer timer = new ResourceTimer("timer %d", 1);
+        assertTrue(timer.toString().startsWith("timer 1 {"));
+        assertTrue(timer.toString().contains("{cpu "));
+    }
+}
@@ -0,0 +1,91 @@
+package jcstombe.util.test;
+
+import jcstombe.util.ResultFields;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class ResultFieldsTest {
+
+    @Test
+    public void testFields() {
+        ResultFields in = ResultFields.of("a\t\tc\u00e9");
+        assertTrue(in.hasNext());
+        assertEquals("a", in.next());
+        assertEquals("", in.next());
+        assertTrue(in.nextEquals("c\u00e9"));
+        assertFalse(in.hasNext());
+        assertFalse(ResultFields.of("").hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNextPastEnd() {
+        ResultFields in = ResultFields.of("a");
+        in.skip();
+        in.next();
+    }
+
+    @Test
+    public void testNextInt() {
+        ResultFields in = ResultFields.of("0\t-17\t   +42\t2147483647\t-2147483648");
+        assertEquals(0, in.nextInt());
+        assertEquals(-17, in.nextInt());
+        assertEquals(42, in.nextInt());
+        assertEquals(Integer.MAX_VALUE, in.nextInt());
+        assertEquals(Integer.MIN_VALUE, in.nextInt());
+    }
+
+    @Test
+    public void testNextLong() {
+        ResultFields in = ResultFields.of("9223372036854775807\t-9223372036854775808");
+        assertEquals(Long.MAX_VALUE, in.nextLong());
+        assertEquals(Long.MIN_VALUE, in.nextLong());
+    }
+
+    @Test
+    public void testNumberFormatErrors() {
+        for (String bad : new String[]{"-", " ", "1.5", "12a", "2147483648", "9223372036854775808"}) {
+            try {
+                ResultFields.of(bad).nextInt();
+                fail(bad);
+            } catch (NumberFormatException expected) {
+            }
+        }
+        for (String bad : new String[]{"-", " ", ".", "1.2.3", "abc"}) {
+            try {
+                ResultFields.of(bad).nextDouble();
+                fail(bad);
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testNextDouble() {
+        ResultFields in = ResultFields.of("1.5\t -0.000001\t+3\t.25\t1e-7\tNaN\t-Infinity\t12345678901234567890.5");
+        assertEquals(1.5, in.nextDouble(), 0);
+        assertEquals(-0.000001, in.nextDouble(), 0);
+        assertEquals(3, in.nextDouble(), 0);
+        assertEquals(0.25, in.nextDouble(), 0);
+        assertEquals(1e-7, in.nextDouble(), 0);
+        assertTrue(Double.isNaN(in.nextDouble()));
+        assertEquals(Double.NEGATIVE_INFINITY, in.nextDouble(), 0);
+        assertEquals(12345678901234567890.5, in.nextDouble(), 0);
+    }
+
+    @Test
+    public void testNextDoubleMatchesParseDouble() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100000; i++) {
+            String s = String.format("%." + random.nextInt(10) + "f", (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(12)));
+            assertEquals(s, Double.parseDouble(s), ResultFields.of(s).nextDouble(), 0);
+        }
+    }
+}
@@ -1,38 +1,925 @@
 package jcstombe.util.test;
 
+import jcstombe.util.ResultFields;
+import jcstombe.util.ResultFile;
+import jcstombe.util.ResultStatisticFormat;
+import jcstombe.util.ScannerResultFile;
+import jcstombe.util.StatisticSummary;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.Stream;
+
 import static org.junit.Assert.*;
 
 /**
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 08, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class ResultFileTest {
 
+    static class IntResultFile extends ResultFile<Integer> {
+        IntResultFile(File file) {
+            super(file);
+            addStatistic("time", ResultStatisticFormat.floatingPoint().precision(3));
+            addStatistic("count", ResultStatisticFormat.integer().width(6));
+        }
+
+        @Override
+        public String printResultId(Integer resultId) {
+            return resultId.toString();
+        }
+
+        @Override
+        public String printResultIdHeader() {
+            return "id";
+        }
+
+        @Override
+        public Integer readResultId(ResultFields in) {
+            return in.nextInt();
+        }
+
+        @Override
+        public boolean validResultIdHeader(ResultFields in) {
+            return in.hasNext() && in.nextEquals("id");
+        }
+    }
+
+    /**
+     * Reads its id, which spans two columns, through the Scanner hooks.
+     */
+    static class VersionedResultFile extends ScannerResultFile<String> {
+        VersionedResultFile(File file) {
+            super(file);
+            addStatistic("time", ResultStatisticFormat.floatingPoint());
+        }
+
+        @Override
+        public String printResultId(String resultId) {
+            return resultId;
+        }
+
+        @Override
+        public String printResultIdHeader() {
+            return "name\tversion";
+        }
+
+        @Override
+        public String readResultId(Scanner in) {
+            return in.next() + "\t" + in.next();
+        }
+
+        @Override
+        public boolean validResultIdHeader(Scanner in) {
+            return in.next().equals("name") && in.next().equals("version");
+        }
+    }
+
+    private File file;
+
     @Before
     public void setUp() throws Exception {
+        file = File.createTempFile("ResultFileTest", ".tsv");
     }
 
     @After
     public void tearDown() throws Exception {
+        file.delete();
+        new File(file.getPath() + ".journal").delete();
+        new File(file.getPath() + ".journal.old").delete();
+    }
+
+    private void write(String... lines) throws Exception {
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
     }
 
     @Test
     public void testAddStatistic() {
+        IntResultFile results = new IntResultFile(file);
+        ResultFile<Integer>.Result r = results.new Result(1);
+        r.addStatistic("count", 5);
+        r.addStatistic("unknown", 5);
+        assertEquals(5, r.getStatistic("count"));
+        assertNull(r.getStatistic("unknown"));
+    }
+
+    @Test
+    public void testStatisticIndex() {
+        IntResultFile results = new IntResultFile(file);
+        int time = results.statisticIndex("time");
+        int count = results.statisticIndex("count");
+        assertTrue(time >= 0 && count >= 0 && time != count);
+        assertEquals(-1, results.statisticIndex("unknown"));
+
+        ResultFile<Integer>.Result r = results.new Result(1);
+        assertFalse(r.hasStatistic(time));
+        assertEquals(0, r.getDouble(time), 0);
+        r.setDouble(time, 2.5);
+        r.setDouble(count, 7.9);
+        assertTrue(r.hasStatistic(time));
+        assertEquals(2.5, r.getDouble(time), 0);
+        assertEquals(2, r.getLong(time));
+        assertEquals(7, r.getLong(count));
+        assertEquals(7, r.getStatistic("count"));
+        assertEquals(2.5, r.getStatistic("time"));
+
+        r.setLong(count, 1L << 40);
+        assertEquals(1L << 40, r.getStatistic("count"));
+        r.addStatistic("count", null);
+        assertFalse(r.hasStatistic(count));
+        assertNull(r.getStatistic("count"));
+
+        // Statistics of other results live in other rows of the same columns
+        for (int i = 2; i < 1000; i++) {
+            results.new Result(i).setLong(count, i);
+        }
+        for (int i = 2; i < 1000; i++) {
+            assertEquals(i, results.getResult(i).getStatistic("count"));
+        }
+        assertEquals(2.5, r.getDouble(time), 0);
+    }
+
+    @Test
+    public void testReregisterStatistic() {
+        IntResultFile results = new IntResultFile(file);
+        ResultFile<Integer>.Result r = results.new Result(1);
+        r.addStatistic("count", 3);
+        results.addStatistic("count", ResultStatisticFormat.integer().width(2));
+        assertEquals(3, r.getStatistic("count"));
+        results.addStatistic("count", ResultStatisticFormat.floatingPoint());
+        assertNull(r.getStatistic("count"));
+        r.addStatistic("count", 3);
+        assertEquals(3.0, r.getStatistic("count"));
     }
 
     @Test
     public void testContains() {
+        IntResultFile results = new IntResultFile(file);
+        ResultFile<Integer>.Result r = results.new Result(1);
+        assertTrue(results.contains(r));
+        assertSame(r, results.getResult(1));
+        assertFalse(results.contains(new IntResultFile(file).new Result(2)));
+    }
+
+    @Test
+    public void testReadResults() throws Exception {
+        write("id\tcount\tignored\ttime", "1\t    42\tx\t1.500", "-2\t-7\ty\t-0.25", "", "3\t+0\tz\t1e3");
+        IntResultFile results = new IntResultFile(file);
+        results.readResults();
+        assertEquals(3, results.size());
+        ResultFile<Integer>.Result r = results.getResult(1);
+        assertEquals(42, r.getStatistic("count"));
+        assertEquals(1.5, r.getStatistic("time"));
+        assertEquals(-7, results.getResult(-2).getStatistic("count"));
+        assertEquals(-0.25, results.getResult(-2).getStatistic("time"));
+        assertEquals(1000.0, results.getResult(3).getStatistic("time"));
+    }
+
+    private void assertRoundTrip(IntResultFile written) {
+        ResultFile<Integer>.Result r = written.new Result(1);
+        r.addStatistic("time", 1.5);
+        r.addStatistic("count", 42);
+        ResultFile<Integer>.Result negative = written.new Result(-2);
+        negative.addStatistic("time", -1234.25);
+        negative.addStatistic("count", -7);
+        written.writeResults();
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(2, read.size());
+        assertEquals(1.5, read.getResult(1).getStatistic("time"));
+        assertEquals(42, read.getResult(1).getStatistic("count"));
+        assertEquals(-1234.25, read.getResult(-2).getStatistic("time"));
+        assertEquals(-7, read.getResult(-2).getStatistic("count"));
+    }
+
+    @Test
+    public void testReadLocaleDecimals() throws Exception {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            // Written as 1,500 by String.format
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertRoundTrip(new IntResultFile(file));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+    }
+
+    @Test
+    public void testReadLeftJustified() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        written.addStatistic("time", ResultStatisticFormat.floatingPoint().precision(2).width(10)
+                .flags(ResultStatisticFormat.Flag.LEFT_JUSTIFY));
+        written.addStatistic("count", ResultStatisticFormat.integer().width(6)
+                .flags(ResultStatisticFormat.Flag.LEFT_JUSTIFY));
+        assertRoundTrip(written);
+        assertTrue(Files.readAllLines(file.toPath()).contains("1\t42    \t1.50      "));
     }
 
     @Test
-    public void testReadResults() {
+    public void testReadResultsWithScannerHooks() throws Exception {
+        write("name\tversion\ttime", "a\tv1\t1.25\r", "b\tv2\t2.5");
+        VersionedResultFile results = new VersionedResultFile(file);
+        results.readResults();
+        assertEquals(1.25, results.getResult("a\tv1").getStatistic("time"));
+        assertEquals(2.5, results.getResult("b\tv2").getStatistic("time"));
+    }
+
+    @Test
+    public void testReadResultsLongLines() throws Exception {
+        StringBuilder id = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            id.append('x');
+        }
+        write("name\tversion\ttime", id + "\tv\t3.0", "b\tv\t4.0");
+        VersionedResultFile results = new VersionedResultFile(file);
+        results.readResults();
+        assertEquals(3.0, results.getResult(id + "\tv").getStatistic("time"));
+        assertEquals(4.0, results.getResult("b\tv").getStatistic("time"));
+    }
+
+    @Test
+    public void testReadResultsInvalidHeader() throws Exception {
+        write("ident\ttime", "1\t1.0");
+        IntResultFile results = new IntResultFile(file);
+        results.readResults();
+        assertEquals(0, results.size());
+    }
+
+    private void writeLarge(int lines, int badLine) throws Exception {
+        List<String> content = new ArrayList<>();
+        content.add("id\ttime\tcount");
+        Random random = new Random(42);
+        for (int i = 0; i < lines; i++) {
+            // Ids repeat, so which line of an id wins has to match the sequential read
+            content.add(random.nextInt(lines / 2) + "\t" + random.nextDouble() + "\t" + ((i == badLine) ? "x" : i));
+        }
+        Files.write(file.toPath(), content, StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameResults(IntResultFile expected, IntResultFile actual, int ids) {
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < ids; id++) {
+            ResultFile<Integer>.Result e = expected.getResult(id);
+            ResultFile<Integer>.Result a = actual.getResult(id);
+            assertEquals(e == null, a == null);
+            if (e != null) {
+                assertEquals(e.getStatistic("time"), a.getStatistic("time"));
+                assertEquals(e.getStatistic("count"), a.getStatistic("count"));
+            }
+        }
+    }
+
+    @Test
+    public void testReadResultsParallel() throws Exception {
+        writeLarge(200000, -1);
+        assertTrue(file.length() > 4 << 20);
+        IntResultFile sequential = new IntResultFile(file);
+        sequential.readResults();
+        IntResultFile parallel = new IntResultFile(file);
+        parallel.readResultsParallel();
+        assertSameResults(sequential, parallel, 100000);
+    }
+
+    @Test
+    public void testReadResultsParallelStopsAtError() throws Exception {
+        writeLarge(200000, 150000);
+        IntResultFile sequential = new IntResultFile(file);
+        sequential.readResults();
+        IntResultFile parallel = new IntResultFile(file);
+        parallel.readResultsParallel();
+        assertSameResults(sequential, parallel, 100000);
+    }
+
+    @Test
+    public void testReadResultsParallelSmallFiles() throws Exception {
+        write("id\ttime\tcount", "1\t1.5\t2");
+        IntResultFile results = new IntResultFile(file);
+        results.readResultsParallel();
+        assertEquals(2, results.getResult(1).getStatistic("count"));
+        write("id\ttime\tcount");
+        results = new IntResultFile(file);
+        results.readResultsParallel();
+        assertEquals(0, results.size());
+        file.delete();
+        results.readResultsParallel();
+        assertEquals(0, results.size());
+    }
+
+    private File columnFile() throws Exception {
+        File columns = File.createTempFile("ResultFileTest", ".cols");
+        columns.deleteOnExit();
+        return columns;
+    }
+
+    @Test
+    public void testColumns() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        written.addStatistic("sparse", ResultStatisticFormat.integer());
+        written.addStatistic("level", ResultStatisticFormat.integer());
+        written.addStatistic("big", ResultStatisticFormat.floatingPoint());
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            ResultFile<Integer>.Result r = written.new Result(i * 7 - 100);
+            r.addStatistic("time", random.nextDouble());
+            r.addStatistic("count", i);
+            if (i % 3 == 0) {
+                r.addStatistic("sparse", random.nextInt());
+            }
+            r.addStatistic("level", random.nextInt(10));
+            r.addStatistic("big", random.nextGaussian() * 1e12);
+        }
+        File columns = columnFile();
+        written.writeColumns(columns);
+        assertTrue(columns.length() > 0);
+
+        IntResultFile read = new IntResultFile(file);
+        read.addStatistic("sparse", ResultStatisticFormat.integer());
+        read.addStatistic("level", ResultStatisticFormat.integer());
+        read.readColumns(columns);
+        assertEquals(5000, read.size());
+        for (int i = 0; i < 5000; i++) {
+            ResultFile<Integer>.Result e = written.getResult(i * 7 - 100);
+            ResultFile<Integer>.Result a = read.getResult(i * 7 - 100);
+            assertEquals(e.getStatistic("time"), a.getStatistic("time"));
+            assertEquals(e.getStatistic("count"), a.getStatistic("count"));
+            assertEquals(e.getStatistic("sparse"), a.getStatistic("sparse"));
+            assertEquals(e.getStatistic("level"), a.getStatistic("level"));
+            // Not registered with the reading file, so skipped like an unknown text column
+            assertNull(a.getStatistic("big"));
+        }
+        columns.delete();
+    }
+
+    @Test
+    public void testColumnFormats() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        written.new Result(1).addStatistic("time", 1.0);
+        File columns = columnFile();
+        written.writeColumns(columns);
+        Map<String, ResultStatisticFormat> formats = ResultFile.columnFormats(columns);
+        assertEquals(2, formats.size());
+        assertEquals("%.3f", formats.get("time").formatString());
+        assertEquals("%6d", formats.get("count").formatString());
+        columns.delete();
+    }
+
+    @Test
+    public void testColumnNames() throws Exception {
+        // Modified UTF-8 encodes NUL and supplementary characters differently from UTF-8
+        String nul = "a\u0000b";
+        String supplementary = "smile\uD83D\uDE00";
+        IntResultFile written = new IntResultFile(file);
+        written.addStatistic(nul, ResultStatisticFormat.integer());
+        written.addStatistic(supplementary, ResultStatisticFormat.floatingPoint());
+        ResultFile<Integer>.Result r = written.new Result(1);
+        r.addStatistic(nul, 3);
+        r.addStatistic(supplementary, 0.5);
+        File columns = columnFile();
+        written.writeColumns(columns);
+        assertTrue(ResultFile.columnFormats(columns).keySet().containsAll(Arrays.asList(nul, supplementary)));
+
+        IntResultFile read = new IntResultFile(file);
+        read.addStatistic(nul, ResultStatisticFormat.integer());
+        read.addStatistic(supplementary, ResultStatisticFormat.floatingPoint());
+        read.readColumns(columns);
+        assertEquals(3, read.getResult(1).getStatistic(nul));
+        assertEquals(0.5, read.getResult(1).getStatistic(supplementary));
+        columns.delete();
+    }
+
+    @Test
+    public void testNonAsciiRoundTrip() throws Exception {
+        // Written in UTF-8 even where the default charset can't encode them
+        String id = "caf\u00e9\tv\u2460";
+        String name = "d\u00e9lai";
+        VersionedResultFile written = new VersionedResultFile(file);
+        written.addStatistic(name, ResultStatisticFormat.integer());
+        ResultFile<String>.Result r = written.new Result(id);
+        r.addStatistic("time", 1.25);
+        r.addStatistic(name, 7);
+        written.writeResults();
+
+        VersionedResultFile read = new VersionedResultFile(file);
+        read.addStatistic(name, ResultStatisticFormat.integer());
+        read.readResults();
+        assertEquals(1, read.size());
+        assertEquals(1.25, read.getResult(id).getStatistic("time"));
+        assertEquals(7, read.getResult(id).getStatistic(name));
+    }
+
+    @Test
+    public void testConvertColumns() throws Exception {
+        write("name\tversion\ttime", "a\tv1\t1.25", "b\tv2\t2.5");
+        File columns = columnFile();
+        new VersionedResultFile(file).convertToColumns(columns);
+        file.delete();
+        new VersionedResultFile(file).convertFromColumns(columns);
+        VersionedResultFile results = new VersionedResultFile(file);
+        results.readResults();
+        assertEquals(2, results.size());
+        assertEquals(1.25, results.getResult("a\tv1").getStatistic("time"));
+        assertEquals(2.5, results.getResult("b\tv2").getStatistic("time"));
+        columns.delete();
+    }
+
+    @Test
+    public void testColumnFormatsLargeHeader() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        char[] padding = new char[40000];
+        Arrays.fill(padding, 'x');
+        // A header of about 2MB
+        for (int i = 0; i < 50; i++) {
+            written.addStatistic(i + new String(padding), ResultStatisticFormat.integer());
+        }
+        written.new Result(1).addStatistic("count", 1);
+        File columns = columnFile();
+        written.writeColumns(columns);
+        Map<String, ResultStatisticFormat> formats = ResultFile.columnFormats(columns);
+        assertEquals(52, formats.size());
+        assertTrue(formats.containsKey(49 + new String(padding)));
+
+        // A truncated header is an IOException rather than a buffer underflow
+        try (RandomAccessFile truncate = new RandomAccessFile(columns, "rw")) {
+            truncate.setLength(1 << 20);
+        }
+        try {
+            ResultFile.columnFormats(columns);
+            fail("Read a truncated header");
+        } catch (IOException expected) {
+        }
+        columns.delete();
+    }
+
+    @Test
+    public void testReadColumnsNotAColumnFile() throws Exception {
+        write("id\ttime\tcount", "1\t1.5\t2");
+        IntResultFile results = new IntResultFile(file);
+        results.readColumns(file);
+        assertEquals(0, results.size());
+    }
+
+    private File journal() {
+        return new File(file.getPath() + ".journal");
+    }
+
+    @Test
+    public void testAppendResults() throws Exception {
+        file.delete();
+        IntResultFile results = new IntResultFile(file);
+        results.new Result(1).addStatistic("count", 1);
+        // No file to append to yet
+        results.appendResults();
+        assertTrue(file.exists());
+        assertFalse(journal().exists());
+        long baseLength = file.length();
+
+        results.new Result(2).addStatistic("count", 2);
+        results.getResult(1).addStatistic("count", 10);
+        results.appendResults();
+        results.appendResults();
+        assertEquals(baseLength, file.length());
+        assertEquals(3, Files.readAllLines(journal().toPath()).size());
+
+        results.getResult(2).addStatistic("time", 0.5);
+        results.appendResults();
+        assertEquals(4, Files.readAllLines(journal().toPath()).size());
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(2, read.size());
+        assertEquals(10, read.getResult(1).getStatistic("count"));
+        assertEquals(2, read.getResult(2).getStatistic("count"));
+        assertEquals(0.5, read.getResult(2).getStatistic("time"));
+
+        IntResultFile parallel = new IntResultFile(file);
+        parallel.readResultsParallel();
+        assertEquals(10, parallel.getResult(1).getStatistic("count"));
+
+        // Reading doesn't count as a change
+        long journalLength = journal().length();
+        read.appendResults();
+        assertEquals(journalLength, journal().length());
+
+        results.writeResults();
+        assertFalse(journal().exists());
+        read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(10, read.getResult(1).getStatistic("count"));
+    }
+
+    @Test
+    public void testRereadKeepsRows() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        for (int i = 0; i < 1000; i++) {
+            written.new Result(i).addStatistic("count", i);
+        }
+        written.writeResults();
+
+        IntResultFile read = new IntResultFile(file);
+        for (int i = 0; i < 5; i++) {
+            read.readResults();
+        }
+        assertEquals(1000, read.size());
+        assertEquals(1000, read.statisticRows());
+        // A duplicate id isn't added, and takes no row
+        read.new Result(1).addStatistic("count", -1);
+        assertEquals(1, read.getResult(1).getStatistic("count"));
+        assertEquals(1000, read.statisticRows());
+
+        // Journal records replace the statistics of results already read
+        written.getResult(1).addStatistic("count", 10);
+        written.getResult(2).addStatistic("time", 0.5);
+        written.appendResults();
+        ResultFile<Integer>.Result first = read.getResult(1);
+        read.readResults();
+        assertEquals(1000, read.statisticRows());
+        assertSame(first, read.getResult(1));
+        assertEquals(10, first.getStatistic("count"));
+        assertEquals(0.5, read.getResult(2).getStatistic("time"));
+        assertEquals(2, read.getResult(2).getStatistic("count"));
+    }
+
+    @Test
+    public void testAppendResultsNewStatistic() throws Exception {
+        IntResultFile results = new IntResultFile(file);
+        results.new Result(1).addStatistic("count", 1);
+        results.writeResults();
+        results.new Result(2).addStatistic("count", 2);
+        results.appendResults();
+        assertTrue(journal().exists());
+
+        results.addStatistic("level", ResultStatisticFormat.integer());
+        results.getResult(1).addStatistic("level", 0);
+        results.getResult(2).addStatistic("level", 3);
+        results.appendResults();
+        assertFalse(journal().exists());
+        IntResultFile read = new IntResultFile(file);
+        read.addStatistic("level", ResultStatisticFormat.integer());
+        read.readResults();
+        assertEquals(2, read.size());
+        assertEquals(3, read.getResult(2).getStatistic("level"));
+    }
+
+    @Test
+    public void testCompactJournal() throws Exception {
+        IntResultFile results = new IntResultFile(file);
+        for (int i = 0; i < 100; i++) {
+            results.new Result(i).addStatistic("count", i);
+        }
+        results.writeResults();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 150; i += 3) {
+                ResultFile<Integer>.Result r = results.getResult(i);
+                if (r == null) {
+                    r = results.new Result(i);
+                }
+                r.addStatistic("count", i * 100 + round);
+            }
+            results.appendResults();
+        }
+        results.compactJournal().get();
+        assertFalse(journal().exists());
+        assertFalse(new File(file.getPath() + ".journal.old").exists());
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(117, lines.size());
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(116, read.size());
+        for (int i = 0; i < 150; i++) {
+            if (i % 3 == 0) {
+                assertEquals(i * 100 + 2, read.getResult(i).getStatistic("count"));
+            } else if (i < 100) {
+                assertEquals(i, read.getResult(i).getStatistic("count"));
+            } else {
+                assertNull(read.getResult(i));
+            }
+        }
+        // Appends carry on after a compaction
+        results.getResult(1).addStatistic("count", -1);
+        results.appendResults();
+        read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(-1, read.getResult(1).getStatistic("count"));
+        results.writeResults();
+    }
+
+    @Test
+    public void testWriteResults() throws Exception {
+        IntResultFile written = new IntResultFile(file);
+        for (int i = 0; i < 1000; i++) {
+            ResultFile<Integer>.Result r = written.new Result(i);
+            r.addStatistic("time", i / 8.0);
+            r.addStatistic("count", -i);
+        }
+        written.writeResults();
+        List<String> lines = Files.readAllLines(file.toPath());
+        assertEquals(1001, lines.size());
+        assertTrue(lines.get(0).startsWith("id\t"));
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        for (int i = 0; i < 1000; i++) {
+            ResultFile<Integer>.Result r = read.getResult(i);
+            assertEquals(-i, r.getStatistic("count"));
+            assertEquals(Math.round(i / 8.0 * 1000) / 1000.0, r.getStatistic("time").doubleValue(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testCollector() throws Exception {
+        IntResultFile results = new IntResultFile(file);
+        results.new Result(0).addStatistic("count", 100);
+        ResultFile<Integer>.Collector collector = results.collector(2);
+        for (int i = 0; i < 3; i++) {
+            collector.newResult(i).addStatistic("count", i);
+        }
+        // The first batch is published by starting the third result; the third waits for a flush
+        assertEquals(2, results.size());
+        assertEquals(100, results.getResult(0).getStatistic("count"));
+        assertEquals(1, results.getResult(1).getStatistic("count"));
+        assertNull(results.getResult(2));
+        collector.close();
+        assertEquals(3, results.size());
+        assertEquals(2, results.getResult(2).getStatistic("count"));
+
+        results.appendResults();
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(3, read.size());
+        assertEquals(100, read.getResult(0).getStatistic("count"));
+    }
+
+    @Test
+    public void testCollectorsWhileWriting() throws Exception {
+        final IntResultFile results = new IntResultFile(file);
+        final int threads = 4;
+        final int perThread = 5000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int first = t * perThread;
+            workers.add(new Thread(() -> {
+                try (ResultFile<Integer>.Collector collector = results.collector(64)) {
+                    for (int i = first; i < first + perThread; i++) {
+                        ResultFile<Integer>.Result r = collector.newResult(i);
+                        r.addStatistic("count", i);
+                        r.addStatistic("time", i / 4.0);
+                    }
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        int previous = 0;
+        while (workers.stream().anyMatch(Thread::isAlive)) {
+            results.writeResults();
+            // Every write is a consistent snapshot: a header and whole lines of complete results
+            List<String> lines = Files.readAllLines(file.toPath());
+            assertTrue(lines.size() - 1 >= previous);
+            previous = lines.size() - 1;
+            for (String line : lines.subList(1, lines.size())) {
+                String[] fields = line.split("\t");
+                assertEquals(3, fields.length);
+                assertFalse(line.contains("null"));
+            }
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        results.writeResults();
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(threads * perThread, read.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals(i, read.getResult(i).getStatistic("count"));
+            assertEquals(i / 4.0, read.getResult(i).getStatistic("time").doubleValue(), 1e-3);
+        }
+    }
+
+    @Test
+    public void testConcurrentAppendsAndWrites() throws Exception {
+        file.delete();
+        final IntResultFile results = new IntResultFile(file);
+        final int threads = 4;
+        final int perThread = 2000;
+        final CyclicBarrier start = new CyclicBarrier(threads);
+        final List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int first = t * perThread;
+            final boolean append = t % 2 == 0;
+            workers.add(new Thread(() -> {
+                try (ResultFile<Integer>.Collector collector = results.collector(64)) {
+                    // Every thread touches the journal first at once
+                    start.await();
+                    for (int i = first; i < first + perThread; i++) {
+                        collector.newResult(i).addStatistic("count", i);
+                        if (i % 250 == 0) {
+                            collector.flush();
+                            if (append) {
+                                results.appendResults();
+                            } else {
+                                results.writeResults();
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertTrue(errors.isEmpty());
+        results.appendResults();
+
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(threads * perThread, read.size());
+        for (int i = 0; i < threads * perThread; i++) {
+            assertEquals(i, read.getResult(i).getStatistic("count"));
+        }
+    }
+
+    private IntResultFile written(int count) {
+        IntResultFile written = new IntResultFile(file);
+        for (int i = 0; i < count; i++) {
+            ResultFile<Integer>.Result r = written.new Result(i);
+            r.addStatistic("time", i / 8.0);
+            if (i % 2 == 0) {
+                r.addStatistic("count", i);
+            }
+        }
+        written.writeResults(Comparator.naturalOrder());
+        return written;
+    }
+
+    @Test
+    public void testStreamResults() throws Exception {
+        IntResultFile written = written(10000);
+        IntResultFile streamed = new IntResultFile(file);
+        try (Stream<ResultFile<Integer>.Result> results = streamed.streamResults()) {
+            StatisticSummary summary = streamed.summarize(results.filter(r -> r.getResultId() >= 5000), "time");
+            assertEquals(5000, summary.getCount());
+            assertEquals(9999 / 8.0, summary.getMax(), 1e-3);
+        }
+        // Streaming doesn't add the results
+        assertEquals(0, streamed.size());
+        int[] seen = new int[1];
+        streamed.forEachResult(r -> {
+            assertEquals(seen[0]++, (int) r.getResultId());
+            assertEquals(r.getResultId() % 2 == 0 ? r.getResultId() : null, r.getStatistic("count"));
+        });
+        assertEquals(written.size(), seen[0]);
+    }
+
+    @Test
+    public void testCursor() throws Exception {
+        written(100);
+        IntResultFile read = new IntResultFile(file);
+        try (ResultFile<Integer>.Cursor cursor = read.openResults()) {
+            assertTrue(cursor.hasNext());
+            assertTrue(cursor.hasNext());
+            ResultFile<Integer>.Result first = cursor.next();
+            assertEquals(0, (int) first.getResultId());
+            // The result is reused for the next line
+            assertSame(first, cursor.next());
+            assertEquals(1, (int) first.getResultId());
+            assertNull(first.getStatistic("count"));
+            int count = 2;
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+            assertEquals(100, count);
+            try {
+                cursor.next();
+                fail("Read past the end");
+            } catch (NoSuchElementException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void testForEachBatch() throws Exception {
+        written(1000);
+        IntResultFile read = new IntResultFile(file);
+        List<Integer> sizes = new ArrayList<>();
+        int[] next = new int[1];
+        read.forEachBatch(64, batch -> {
+            sizes.add(batch.size());
+            for (ResultFile<Integer>.Result r : batch) {
+                assertEquals(next[0], (int) r.getResultId());
+                assertEquals(next[0] / 8.0, r.getStatistic("time").doubleValue(), 1e-3);
+                next[0]++;
+            }
+        });
+        assertEquals(16, sizes.size());
+        assertEquals(64, (int) sizes.get(0));
+        assertEquals(1000 - 15 * 64, (int) sizes.get(15));
+        assertEquals(1000, next[0]);
+    }
+
+    static class TimeResultFile extends IntResultFile {
+        TimeResultFile(File file) {
+            super(file);
+            addStatistic("time", ResultStatisticFormat.floatingPoint().precision(1));
+            addStatistic("speed", ResultStatisticFormat.floatingPoint());
+        }
+    }
+
+    @Test
+    public void testStreamPipeline() throws Exception {
+        written(1000);
+        File other = File.createTempFile("ResultFileTest", ".tsv");
+        try {
+            IntResultFile in = new IntResultFile(file);
+            TimeResultFile out = new TimeResultFile(other);
+            int time = in.statisticIndex("time");
+            long written = out.writeStream(in.streamResults()
+                    .filter(r -> r.getResultId() % 10 == 0)
+                    .peek(r -> r.setDouble(time, r.getDouble(time) * 2)));
+            assertEquals(100, written);
+
+            TimeResultFile read = new TimeResultFile(other);
+            read.readResults();
+            assertEquals(100, read.size());
+            for (int i = 0; i < 1000; i += 10) {
+                ResultFile<Integer>.Result r = read.getResult(i);
+                assertEquals(Math.round(i / 4.0 * 10) / 10.0, r.getStatistic("time").doubleValue(), 1e-9);
+                assertEquals(i, r.getStatistic("count"));
+                assertNull(r.getStatistic("speed"));
+            }
+        } finally {
+            other.delete();
+        }
+    }
+
+    @Test
+    public void testWriteStreamInPlace() throws Exception {
+        IntResultFile results = written(1000);
+        results.getResult(1).addStatistic("count", 1);
+        results.appendResults();
+        assertTrue(journal().exists());
+        IntResultFile in = new IntResultFile(file);
+        assertEquals(500, in.writeStream(in.streamResults().filter(r -> r.hasStatistic(in.statisticIndex("count")))));
+        assertFalse(journal().exists());
+        assertFalse(new File(file.getPath() + ".writing").exists());
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        assertEquals(500, read.size());
+    }
+
+    @Test
+    public void testWriteStreamNonAscii() throws Exception {
+        String id = "caf\u00e9\tv\u2460";
+        VersionedResultFile written = new VersionedResultFile(file);
+        written.new Result(id).addStatistic("time", 1.25);
+        written.new Result("plain\tv1").addStatistic("time", 2.5);
+        written.writeResults();
+
+        VersionedResultFile in = new VersionedResultFile(file);
+        assertEquals(2, in.writeStream(in.streamResults()));
+        VersionedResultFile read = new VersionedResultFile(file);
+        read.readResults();
+        assertEquals(2, read.size());
+        assertEquals(1.25, read.getResult(id).getStatistic("time"));
     }
 
     @Test
-    public void testWriteResults() {
+    public void testWriteStreamFailure() throws Exception {
+        written(100);
+        List<String> before = Files.readAllLines(file.toPath());
+        IntResultFile in = new IntResultFile(file);
+        try {
+            in.writeStream(in.streamResults().peek(r -> {
+                if (r.getResultId() == 50) throw new IllegalStateException("stop");
+            }));
+            fail("Stream didn't fail");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(before, Files.readAllLines(file.toPath()));
+        assertFalse(new File(file.getPath() + ".writing").exists());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package jcstombe.util.test;
+
+import jcstombe.util.ResultFile;
+import jcstombe.util.ResultIndex;
+import jcstombe.util.StatisticSummary;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class ResultIndexTest {
+
+    private ResultFileTest.IntResultFile results;
+
+    @Before
+    public void setUp() {
+        results = new ResultFileTest.IntResultFile(new File("unused"));
+        for (int i = 0; i < 1000; i++) {
+            ResultFile<Integer>.Result r = results.new Result(i);
+            // time is a permutation of the ids, count is only set on even ids
+            r.addStatistic("time", (i * 7919) % 1000);
+            if (i % 2 == 0) {
+                r.addStatistic("count", i);
+            }
+        }
+    }
+
+    private static List<Integer> ids(List<ResultFile<Integer>.Result> results) {
+        return results.stream().map(ResultFile.Result::getResultId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testById() {
+        ResultIndex.ById<Integer> index = results.indexIds();
+        assertEquals(1000, index.size());
+        assertEquals(Arrays.asList(10, 11, 12), ids(index.range(10, 12).collect(Collectors.toList())));
+        assertEquals(3, index.range(null, 2).count());
+        assertEquals(2, index.range(998, null).count());
+        assertEquals(0, index.range(20, 10).count());
+        assertEquals(Arrays.asList(0, 1), ids(index.first(2)));
+        assertEquals(Arrays.asList(998, 999), ids(index.last(2)));
+
+        ResultIndex.ById<Integer> reversed = results.indexIds(Comparator.reverseOrder());
+        assertEquals(Arrays.asList(999, 998), ids(reversed.first(2)));
+    }
+
+    @Test
+    public void testByStatistic() {
+        ResultIndex.ByStatistic<Integer> time = results.indexStatistic("time");
+        assertEquals(1000, time.size());
+        assertEquals(11, time.range(10.0, 20.0).count());
+        assertEquals(999.0, time.top(1).get(0).getStatistic("time"));
+        assertEquals(0.0, time.bottom(1).get(0).getStatistic("time"));
+        assertEquals(949.0, time.quantile(0.95), 0);
+
+        ResultIndex.ByStatistic<Integer> count = results.indexStatistic("count");
+        assertEquals(500, count.size());
+        assertEquals(Arrays.asList(998, 996, 994), ids(count.top(3)));
+    }
+
+    @Test
+    public void testTop() {
+        assertEquals(Arrays.asList(998, 996), ids(results.top("count", 2)));
+        List<ResultFile<Integer>.Result> top = results.top("time", 5);
+        assertEquals(5, top.size());
+        assertEquals(999.0, top.get(0).getStatistic("time"));
+        assertEquals(995.0, top.get(4).getStatistic("time"));
+        assertEquals(500, results.top("count", 10000).size());
+    }
+
+    @Test
+    public void testSummarize() {
+        StatisticSummary time = results.summarize("time");
+        assertEquals(1000, time.getCount());
+        assertEquals(499.5, time.getMean(), 1e-9);
+        assertEquals(0, time.getMin(), 0);
+        assertEquals(999, time.getMax(), 0);
+
+        StatisticSummary count = results.summarize("count");
+        assertEquals(500, count.getCount());
+
+        StatisticSummary range = results.summarize(results.indexIds().range(0, 9), "time");
+        assertEquals(10, range.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStatistic() {
+        results.summarize("unknown");
+    }
+}
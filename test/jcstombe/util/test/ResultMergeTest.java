@@ -0,0 +1,206 @@
+package jcstombe.util.test;
+
+import jcstombe.util.ResultFile;
+import jcstombe.util.ResultMerge;
+import jcstombe.util.test.ResultFileTest.IntResultFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class ResultMergeTest {
+
+    private final List<File> files = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            files.add(File.createTempFile("ResultMergeTest", ".tsv"));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        files.forEach(File::delete);
+    }
+
+    private void write(File file, String... lines) throws Exception {
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private IntResultFile read(File file) {
+        IntResultFile read = new IntResultFile(file);
+        read.readResults();
+        return read;
+    }
+
+    private List<File> inputs() throws Exception {
+        write(files.get(0), "id\ttime\tcount", "1\t1.00\t10", "3\t3.00\tnull", "5\t5.00\t50");
+        // Statistics in another order, and one that isn't registered
+        write(files.get(1), "id\tcount\tother\ttime", "2\t20\tx\t2.00", "3\t31\tx\tnull", "6\t60\tx\t6.00");
+        write(files.get(2), "id\ttime\tcount", "3\t3.50\t32", "4\t4.00\t40");
+        return files.subList(0, 3);
+    }
+
+    @Test
+    public void testMergeFirst() throws Exception {
+        IntResultFile out = new IntResultFile(files.get(3));
+        ResultMerge.merge(out, inputs(), files.get(3), Comparator.naturalOrder(), ResultMerge.first());
+        List<String> lines = Files.readAllLines(files.get(3).toPath());
+        assertEquals(7, lines.size());
+        assertTrue(lines.get(0).startsWith("id\t"));
+        for (int i = 1; i <= 6; i++) {
+            assertTrue(lines.get(i).startsWith(i + "\t"));
+        }
+        IntResultFile merged = read(files.get(3));
+        assertEquals(6, merged.size());
+        assertEquals(3.0, merged.getResult(3).getStatistic("time").doubleValue(), 0);
+        assertNull(merged.getResult(3).getStatistic("count"));
+        assertEquals(20, merged.getResult(2).getStatistic("count"));
+        assertEquals(6.0, merged.getResult(6).getStatistic("time").doubleValue(), 0);
+    }
+
+    @Test
+    public void testMergeLast() throws Exception {
+        IntResultFile out = new IntResultFile(files.get(3));
+        ResultMerge.merge(out, inputs(), files.get(3), Comparator.naturalOrder(), ResultMerge.last());
+        IntResultFile merged = read(files.get(3));
+        assertEquals(6, merged.size());
+        assertEquals(3.5, merged.getResult(3).getStatistic("time").doubleValue(), 0);
+        assertEquals(32, merged.getResult(3).getStatistic("count"));
+    }
+
+    @Test
+    public void testMergeFill() throws Exception {
+        IntResultFile out = new IntResultFile(files.get(3));
+        ResultMerge.merge(out, inputs(), files.get(3), Comparator.naturalOrder(), ResultMerge.fill());
+        IntResultFile merged = read(files.get(3));
+        assertEquals(3.0, merged.getResult(3).getStatistic("time").doubleValue(), 0);
+        assertEquals(31, merged.getResult(3).getStatistic("count"));
+    }
+
+    @Test
+    public void testMergeCustomReconciler() throws Exception {
+        IntResultFile out = new IntResultFile(files.get(3));
+        final int count = out.statisticIndex("count");
+        // Sum the counts, and drop ids found in more than two files
+        ResultMerge.merge(out, inputs(), files.get(3), Comparator.naturalOrder(), (duplicates, merged) -> {
+            if (duplicates.size() > 2) return null;
+            long sum = 0;
+            for (ResultFile<Integer>.Result r : duplicates) {
+                sum += r.getLong(count);
+            }
+            merged.setLong(count, sum);
+            return merged;
+        });
+        IntResultFile merged = read(files.get(3));
+        assertEquals(5, merged.size());
+        assertNull(merged.getResult(3));
+    }
+
+    @Test
+    public void testMergeReject() throws Exception {
+        IntResultFile out = new IntResultFile(files.get(3));
+        try {
+            ResultMerge.merge(out, inputs(), files.get(3), Comparator.naturalOrder(), ResultMerge.reject());
+            fail("Merged duplicate ids");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains("3"));
+        }
+    }
+
+    @Test
+    public void testMergeUnsorted() throws Exception {
+        write(files.get(0), "id\ttime\tcount", "1\t1.00\t10", "5\t5.00\t50", "3\t3.00\t30");
+        write(files.get(1), "id\ttime\tcount", "2\t2.00\t20");
+        IntResultFile out = new IntResultFile(files.get(3));
+        try {
+            ResultMerge.merge(out, files.subList(0, 2), files.get(3), Comparator.naturalOrder(), ResultMerge.first());
+            fail("Merged an unsorted file");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("not sorted"));
+        }
+    }
+
+    @Test
+    public void testMergeReverseOrder() throws Exception {
+        write(files.get(0), "id\ttime\tcount", "5\t5.00\t50", "1\t1.00\t10");
+        write(files.get(1), "id\ttime\tcount", "4\t4.00\t40", "2\t2.00\t20");
+        IntResultFile out = new IntResultFile(files.get(3));
+        ResultMerge.merge(out, files.subList(0, 2), files.get(3), Comparator.reverseOrder(), ResultMerge.first());
+        List<String> lines = Files.readAllLines(files.get(3).toPath());
+        assertEquals(Arrays.asList("5", "4", "2", "1"), Arrays.asList(
+                lines.get(1).split("\t")[0], lines.get(2).split("\t")[0],
+                lines.get(3).split("\t")[0], lines.get(4).split("\t")[0]));
+    }
+
+    @Test
+    public void testShardAndMergeBack() throws Exception {
+        IntResultFile written = new IntResultFile(files.get(0));
+        // Larger than a read buffer
+        for (int i = 0; i < 10000; i++) {
+            ResultFile<Integer>.Result r = written.new Result(i * 7);
+            r.addStatistic("count", i);
+            r.addStatistic("time", i / 4.0);
+        }
+        written.writeResults(Comparator.naturalOrder());
+
+        ToIntFunction<Integer> byRange = ResultMerge.byRange(Arrays.asList(700, 3500), Comparator.naturalOrder());
+        assertEquals(0, byRange.applyAsInt(699));
+        assertEquals(1, byRange.applyAsInt(700));
+        assertEquals(2, byRange.applyAsInt(3500));
+        List<File> shards = files.subList(1, 4);
+        ResultMerge.shard(written, files.get(0), shards, byRange);
+        assertEquals(100, read(shards.get(0)).size());
+        assertEquals(400, read(shards.get(1)).size());
+        assertEquals(9500, read(shards.get(2)).size());
+
+        File merged = File.createTempFile("ResultMergeTest", ".tsv");
+        try {
+            ResultMerge.merge(written, shards, merged, Comparator.naturalOrder(), ResultMerge.reject());
+            assertEquals(Files.readAllLines(files.get(0).toPath()), Files.readAllLines(merged.toPath()));
+        } finally {
+            merged.delete();
+        }
+    }
+
+    @Test
+    public void testShardByHash() throws Exception {
+        IntResultFile written = new IntResultFile(files.get(0));
+        for (int i = 0; i < 3000; i++) {
+            written.new Result(i).addStatistic("count", i);
+        }
+        written.writeResults();
+        ToIntFunction<Integer> byHash = ResultMerge.byHash(3);
+        List<File> shards = files.subList(1, 4);
+        ResultMerge.shard(written, files.get(0), shards, byHash);
+        int total = 0;
+        for (int s = 0; s < 3; s++) {
+            IntResultFile shard = read(shards.get(s));
+            // A fair spread, and every id in the shard it hashes to
+            assertTrue(shard.size() > 800);
+            final int index = s;
+            shard.stream().forEach(r -> {
+                assertEquals(index, byHash.applyAsInt(r.getResultId()));
+                assertEquals(r.getResultId(), r.getStatistic("count"));
+            });
+            total += shard.size();
+        }
+        assertEquals(3000, total);
+    }
+}
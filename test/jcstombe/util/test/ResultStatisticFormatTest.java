@@ -1,12 +1,23 @@
 package jcstombe.util.test;
 
+import jcstombe.util.ResultFields;
+import jcstombe.util.ResultFile;
+import jcstombe.util.ResultStatisticFormat;
+import jcstombe.util.ResultStatisticFormat.Flag;
 import org.junit.Test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
  * @author Josh Stomberg <jcstombe@mtu.edu>
- * Last Modified: May 08, 2018
+ * Last Modified: Oct 19, 2026
  */
 public class ResultStatisticFormatTest {
 
@@ -37,4 +48,124 @@ public class ResultStatisticFormatTest {
     @Test
     public void testFormatString() {
     }
-}
\ No newline at end of file
+
+    private static class OneStatisticFile extends ResultFile<Integer> {
+        OneStatisticFile(ResultStatisticFormat format) {
+            super(new File("unused"));
+            addStatistic("value", format);
+        }
+
+        @Override
+        public String printResultId(Integer resultId) {
+            return resultId.toString();
+        }
+
+        @Override
+        public String printResultIdHeader() {
+            return "id";
+        }
+
+        @Override
+        public Integer readResultId(ResultFields in) {
+            return in.nextInt();
+        }
+
+        @Override
+        public boolean validResultIdHeader(ResultFields in) {
+            return in.hasNext() && in.nextEquals("id");
+        }
+    }
+
+    private static final Flag[][] FLAGS = {
+            {}, {Flag.LEFT_JUSTIFY}, {Flag.PLUS}, {Flag.LEADING_SPACE}, {Flag.ZERO_PAD},
+            {Flag.PLUS, Flag.ZERO_PAD}, {Flag.LEADING_SPACE, Flag.LEFT_JUSTIFY}, {Flag.PLUS, Flag.LEFT_JUSTIFY}
+    };
+    private static final int[] WIDTHS = {-1, 0, 1, 5, 12, 30};
+
+    private static void assertFormats(ResultStatisticFormat format, Number value) {
+        OneStatisticFile file = new OneStatisticFile(format);
+        ResultFile<Integer>.Result r = file.new Result(1);
+        r.addStatistic("value", value);
+        String expected;
+        try {
+            expected = String.format(format.formatString(), value);
+        } catch (IllegalFormatException e) {
+            // Such as "%0d" from a width of 0; the value is written unformatted
+            expected = value.toString();
+        }
+        assertEquals(format.formatString() + " of " + value, "1\t" + expected, r.toString());
+    }
+
+    @Test
+    public void testIntegerFormatsMatchStringFormat() {
+        List<Long> values = new ArrayList<>();
+        for (long v : new long[]{0, 1, -1, 9, 10, -10, 99999, 100000, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1, 999999999999999999L, 1000000000000000000L}) {
+            values.add(v);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            values.add(random.nextLong() >> random.nextInt(64));
+        }
+        for (Flag[] flags : FLAGS) {
+            for (int width : WIDTHS) {
+                ResultStatisticFormat format = ResultStatisticFormat.integer().width(width).flags(flags);
+                for (long v : values) {
+                    assertFormats(format, v);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloatingPointFormatsMatchStringFormat() {
+        List<Double> values = new ArrayList<>();
+        for (double v : new double[]{0.0, -0.0, 1.0, -1.0, 0.5, 1.5, 2.5, -2.5, 0.125, 0.15, 0.25, 1.005, 0.0005,
+                2.675, 1e-7, -1e-7, 0.1, 1.0 / 3, 123456.789, 999999.9999995, 1e15, 1e20, 1e300, Double.MIN_VALUE,
+                Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 4.35, 8.345}) {
+            values.add(v);
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            values.add((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(24) - 8));
+            // Values with few decimals, often exactly or nearly halfway when rounded to fewer
+            values.add(random.nextInt(200000) / 1000.0 - 100);
+        }
+        for (Flag[] flags : FLAGS) {
+            for (int width : WIDTHS) {
+                for (int precision : new int[]{-1, 0, 1, 2, 3, 10, 17, 20}) {
+                    ResultStatisticFormat format =
+                            ResultStatisticFormat.floatingPoint().width(width).precision(precision).flags(flags);
+                    for (double v : values) {
+                        assertFormats(format, v);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFormatsFollowDefaultLocale() {
+        Locale original = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            assertFormats(ResultStatisticFormat.floatingPoint().precision(2), 3.14159);
+            Locale.setDefault(Locale.Category.FORMAT, new Locale("ar", "SA"));
+            assertFormats(ResultStatisticFormat.integer().width(6), 1234);
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, original);
+        }
+        assertFormats(ResultStatisticFormat.floatingPoint().precision(2), 3.14159);
+    }
+
+    @Test
+    public void testFormatChangedAfterUse() {
+        ResultStatisticFormat format = ResultStatisticFormat.floatingPoint();
+        OneStatisticFile file = new OneStatisticFile(format);
+        ResultFile<Integer>.Result r = file.new Result(1);
+        r.addStatistic("value", 2.5);
+        assertEquals("1\t2.500000", r.toString());
+        format.precision(1).width(6);
+        assertEquals("1\t   2.5", r.toString());
+    }
+}
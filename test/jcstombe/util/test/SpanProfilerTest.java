@@ -0,0 +1,94 @@
+package jcstombe.util.test;
+
+import jcstombe.util.SpanProfiler;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class SpanProfilerTest {
+
+    @Before
+    public void setUp() throws Exception {
+        SpanProfiler.reset();
+    }
+
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.yield();
+        }
+    }
+
+    private static void handleRequest() {
+        try (SpanProfiler.Span request = SpanProfiler.begin("handleRequest")) {
+            try (SpanProfiler.Span user = SpanProfiler.begin("loadUser")) {
+                try (SpanProfiler.Span miss = SpanProfiler.begin("cacheMiss")) {
+                    spin(100000);
+                }
+            }
+            spin(10000);
+        }
+    }
+
+    @Test
+    public void testCollapsedStacks() {
+        handleRequest();
+        handleRequest();
+        List<String> lines = SpanProfiler.collapsedStacks();
+        assertTrue(lines.get(0).startsWith("handleRequest "));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("handleRequest;loadUser;cacheMiss ")));
+        for (String line : lines) {
+            assertTrue(Long.parseLong(line.substring(line.lastIndexOf(' ') + 1)) > 0);
+        }
+    }
+
+    @Test
+    public void testCallTree() {
+        handleRequest();
+        handleRequest();
+        String[] tree = SpanProfiler.callTree().split(System.lineSeparator());
+        assertEquals(3, tree.length);
+        assertTrue(tree[0].startsWith("handleRequest {2 calls"));
+        assertTrue(tree[1].startsWith("  loadUser {2 calls"));
+        assertTrue(tree[2].startsWith("    cacheMiss {2 calls"));
+    }
+
+    @Test
+    public void testThreadsMerged() throws InterruptedException {
+        Thread worker = new Thread(SpanProfilerTest::handleRequest);
+        worker.start();
+        worker.join();
+        handleRequest();
+        assertTrue(SpanProfiler.callTree().startsWith("handleRequest {2 calls"));
+        // Finished threads are folded into the retired tree, which must not be counted twice
+        assertTrue(SpanProfiler.callTree().startsWith("handleRequest {2 calls"));
+    }
+
+    @Test
+    public void testOutOfOrderClose() {
+        SpanProfiler.Span outer = SpanProfiler.begin("outer");
+        SpanProfiler.Span inner = SpanProfiler.begin("inner");
+        // Ignored while inner is open, rather than closing inner too
+        outer.close();
+        inner.close();
+        // Closed already, and not the innermost open span
+        inner.close();
+        outer.close();
+        outer.close();
+        try (SpanProfiler.Span next = SpanProfiler.begin("next")) {
+            spin(1000);
+        }
+        String[] tree = SpanProfiler.callTree().split(System.lineSeparator());
+        assertEquals(3, tree.length);
+        assertTrue(tree[0].startsWith("outer {1 calls"));
+        assertTrue(tree[1].startsWith("  inner {1 calls"));
+        assertTrue(tree[2].startsWith("next {1 calls"));
+    }
+}
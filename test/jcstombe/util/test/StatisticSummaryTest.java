@@ -0,0 +1,74 @@
+package jcstombe.util.test;
+
+import jcstombe.util.StatisticSummary;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class StatisticSummaryTest {
+
+    @Test
+    public void testEmpty() {
+        StatisticSummary s = new StatisticSummary();
+        assertEquals(0, s.getCount());
+        assertTrue(Double.isNaN(s.getMean()));
+        assertTrue(Double.isNaN(s.getMin()));
+        assertTrue(Double.isNaN(s.getQuantile(0.5)));
+        assertTrue(Double.isNaN(s.getVariance()));
+    }
+
+    @Test
+    public void testMoments() {
+        StatisticSummary s = new StatisticSummary();
+        for (double v : new double[]{2, 4, 4, 4, 5, 5, 7, 9, Double.NaN}) {
+            s.accept(v);
+        }
+        assertEquals(8, s.getCount());
+        assertEquals(2, s.getMin(), 0);
+        assertEquals(9, s.getMax(), 0);
+        assertEquals(5, s.getMean(), 1e-12);
+        assertEquals(32.0 / 7, s.getVariance(), 1e-12);
+    }
+
+    @Test
+    public void testQuantiles() {
+        Random random = new Random(42);
+        double[] values = new double[100000];
+        StatisticSummary s = new StatisticSummary();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (random.nextDouble() - 0.2) * Math.pow(10, random.nextInt(6));
+            s.accept(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : new double[]{0, 0.01, 0.25, 0.5, 0.95, 0.99, 1}) {
+            double exact = values[Math.max(0, (int) Math.ceil(q * values.length) - 1)];
+            assertEquals("q=" + q, exact, s.getQuantile(q), Math.abs(exact) / 100 + 1e-12);
+        }
+        assertEquals(values[0], s.getQuantile(0), 0);
+        assertEquals(values[values.length - 1], s.getQuantile(1), 0);
+    }
+
+    @Test
+    public void testCombine() {
+        Random random = new Random(42);
+        double[] values = random.doubles(50000).map(v -> v * 1000 - 100).toArray();
+        StatisticSummary sequential = new StatisticSummary();
+        DoubleStream.of(values).forEach(sequential);
+        StatisticSummary parallel = DoubleStream.of(values).parallel()
+                .collect(StatisticSummary::new, StatisticSummary::accept, StatisticSummary::combine);
+        assertEquals(sequential.getCount(), parallel.getCount());
+        assertEquals(sequential.getMin(), parallel.getMin(), 0);
+        assertEquals(sequential.getMax(), parallel.getMax(), 0);
+        assertEquals(sequential.getMean(), parallel.getMean(), 1e-9);
+        assertEquals(sequential.getVariance(), parallel.getVariance(), 1e-6);
+        assertEquals(sequential.getQuantile(0.95), parallel.getQuantile(0.95), 0);
+    }
+}
@@ -0,0 +1,67 @@
+package jcstombe.util.test;
+
+import jcstombe.util.SystemSampler;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class SystemSamplerTest {
+
+    @Test
+    public void testSample() {
+        SystemSampler sampler = new SystemSampler(1, TimeUnit.SECONDS, 4);
+        SystemSampler.Sample first = sampler.sample();
+        byte[][] garbage = new byte[64][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[1 << 16];
+        }
+        SystemSampler.Sample second = sampler.sample();
+        assertEquals(0, first.intervalNanos);
+        assertTrue(second.intervalNanos > 0);
+        assertTrue(second.heapUsed > 0);
+        assertTrue(second.threadCount > 0);
+        assertTrue(second.gcCount >= 0);
+        assertTrue(second.allocatedBytes == -1 || second.allocatedBytes >= garbage.length << 16);
+        assertNotNull(second.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroInterval() {
+        new SystemSampler(0, TimeUnit.SECONDS, 4);
+    }
+
+    @Test
+    public void testHistory() {
+        SystemSampler sampler = new SystemSampler(1, TimeUnit.SECONDS, 3);
+        assertNull(sampler.latest());
+        assertTrue(sampler.history().isEmpty());
+        SystemSampler.Sample[] taken = new SystemSampler.Sample[5];
+        for (int i = 0; i < taken.length; i++) {
+            taken[i] = sampler.sample();
+        }
+        List<SystemSampler.Sample> history = sampler.history();
+        assertEquals(3, history.size());
+        assertSame(taken[2], history.get(0));
+        assertSame(taken[4], history.get(2));
+        assertSame(taken[4], sampler.latest());
+    }
+
+    @Test
+    public void testStart() throws InterruptedException {
+        CountDownLatch samples = new CountDownLatch(3);
+        SystemSampler sampler = new SystemSampler(10, TimeUnit.MILLISECONDS, 8).addSink(s -> samples.countDown());
+        sampler.start();
+        assertTrue(sampler.isRunning());
+        assertTrue(samples.await(5, TimeUnit.SECONDS));
+        sampler.stop();
+        assertFalse(sampler.isRunning());
+    }
+}
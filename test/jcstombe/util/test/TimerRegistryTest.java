@@ -0,0 +1,113 @@
+package jcstombe.util.test;
+
+import jcstombe.util.LogTimer;
+import jcstombe.util.TimerRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class TimerRegistryTest {
+
+    @Test
+    public void testTimer() {
+        assertSame(TimerRegistry.timer("TimerRegistryTest"), TimerRegistry.timer("TimerRegistryTest"));
+        assertTrue(TimerRegistry.timers().contains(TimerRegistry.timer("TimerRegistryTest")));
+    }
+
+    @Test
+    public void testInterval() {
+        TimerRegistry.Timer timer = TimerRegistry.timer("interval");
+        timer.record(1000000);
+        timer.record(3000000);
+        TimerRegistry.Interval interval = timer.interval(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(2, interval.count);
+        assertEquals(1.0, interval.rate(), 0);
+        assertEquals(2000000.0, interval.meanNanos(), 0);
+        assertEquals(1000000, interval.minNanos);
+        assertEquals(3000000, interval.maxNanos);
+        assertEquals("interval {n=2, rate=1.0/s, mean=2.000 ms, min=1.000 ms, max=3.000 ms}", interval.toString());
+
+        interval = timer.interval(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(0, interval.count);
+        assertEquals(0, interval.maxNanos);
+    }
+
+    @Test
+    public void testIntervals() {
+        TimerRegistry.intervals();
+        new LogTimer("intervals").stop(TimerRegistry.timer("intervals"));
+        List<TimerRegistry.Interval> intervals = TimerRegistry.intervals();
+        assertEquals(1, intervals.size());
+        assertEquals("intervals", intervals.get(0).name);
+        assertTrue(TimerRegistry.intervals().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        TimerRegistry.Timer timer = TimerRegistry.timer("concurrent");
+        timer.interval(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 1; i <= 10000; i++) {
+                    timer.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        TimerRegistry.Interval interval = timer.interval(1);
+        assertEquals(40000, interval.count);
+        assertEquals(1, interval.minNanos);
+        assertEquals(10000, interval.maxNanos);
+    }
+
+    @Test
+    public void testIntervalWhileRecording() throws InterruptedException {
+        TimerRegistry.Timer timer = TimerRegistry.timer("recording");
+        timer.interval(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] threads = new Thread[4];
+        long[] recorded = new long[threads.length];
+        for (int t = 0; t < threads.length; t++) {
+            final int index = t;
+            threads[t] = new Thread(() -> {
+                while (running.get()) {
+                    timer.record(5);
+                    recorded[index]++;
+                }
+            });
+            threads[t].start();
+        }
+        long count = 0;
+        for (int i = 0; i < 200; i++) {
+            TimerRegistry.Interval interval = timer.interval(1);
+            // Every record falls wholly into one interval, so each interval is consistent
+            assertEquals(5 * interval.count, interval.sumNanos);
+            if (interval.count > 0) {
+                assertEquals(5, interval.minNanos);
+                assertEquals(5, interval.maxNanos);
+            }
+            count += interval.count;
+            Thread.yield();
+        }
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        count += timer.interval(1).count;
+        // Nothing is lost between intervals either
+        assertEquals(Arrays.stream(recorded).sum(), count);
+    }
+}
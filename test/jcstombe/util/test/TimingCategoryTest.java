@@ -0,0 +1,76 @@
+package jcstombe.util.test;
+
+import jcstombe.util.LogTimer;
+import jcstombe.util.TimingCategory;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Josh Stomberg <jcstombe@mtu.edu>
+ * Last Modified: Oct 19, 2026
+ */
+public class TimingCategoryTest {
+
+    @After
+    public void tearDown() throws Exception {
+        TimingCategory.enableAll();
+    }
+
+    @Test
+    public void testGet() {
+        assertSame(TimingCategory.get("db"), TimingCategory.get("db"));
+        assertTrue(TimingCategory.get("db").isEnabled());
+    }
+
+    @Test
+    public void testDisable() {
+        TimingCategory db = TimingCategory.get("db");
+        db.disable();
+        assertFalse(db.isEnabled());
+        assertTrue(TimingCategory.DEFAULT.isEnabled());
+        LogTimer timer = new LogTimer(db, "query");
+        assertEquals(0, timer.getNanoseconds());
+        assertFalse(timer.isEnabled());
+        db.enable();
+        assertTrue(db.isEnabled());
+    }
+
+    @Test
+    public void testDefault() {
+        LogTimer.disableTiming();
+        assertFalse(TimingCategory.DEFAULT.isEnabled());
+        assertFalse(new LogTimer("default").isEnabled());
+        assertTrue(TimingCategory.get("db").isEnabled());
+        LogTimer.enableTiming();
+        assertTrue(LogTimer.isTiming());
+    }
+
+    @Test
+    public void testVisibleToOtherThreads() throws InterruptedException {
+        TimingCategory spin = TimingCategory.get("spin");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            running.countDown();
+            while (spin.isEnabled()) {
+                // Busy wait until the category is switched off
+            }
+            stopped.countDown();
+        });
+        worker.setDaemon(true);
+        worker.start();
+        running.await();
+        spin.disable();
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("db {enabled}", TimingCategory.get("db").toString());
+    }
+}